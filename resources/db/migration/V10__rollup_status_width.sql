@@ -0,0 +1,2 @@
+-- Rollup statuses are as wide as the item status column they come from (admins can set free text)
+ALTER TABLE item_daily_rollups ALTER COLUMN status TYPE VARCHAR(255);
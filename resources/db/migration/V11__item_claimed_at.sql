@@ -0,0 +1,7 @@
+-- When an item was claimed, so that a claim can be uncounted from the rollup it was counted in.
+-- Existing claimed items use updated_at, like the claim rollup backfill in V6.
+ALTER TABLE lost_items ADD COLUMN claimed_at TIMESTAMP(6);
+ALTER TABLE found_items ADD COLUMN claimed_at TIMESTAMP(6);
+
+UPDATE lost_items SET claimed_at = updated_at WHERE status = 'claimed';
+UPDATE found_items SET claimed_at = updated_at WHERE status = 'claimed';
@@ -0,0 +1,22 @@
+-- Gives the unique email constraint a known name, so signup can tell a duplicate email apart
+-- from other integrity errors. Its name depends on how the table was created (users_email_key
+-- from V1, a generated uk_... name on databases created by Hibernate), so it is looked up.
+DO $$
+DECLARE
+    existing TEXT;
+BEGIN
+    SELECT c.conname INTO existing
+    FROM pg_constraint c
+    JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+    WHERE c.conrelid = 'users'::regclass
+      AND c.contype = 'u'
+      AND array_length(c.conkey, 1) = 1
+      AND a.attname = 'email'
+    LIMIT 1;
+
+    IF existing IS NULL THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+    ELSIF existing <> 'uk_users_email' THEN
+        EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO uk_users_email', existing);
+    END IF;
+END $$;
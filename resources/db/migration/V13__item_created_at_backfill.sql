@@ -0,0 +1,4 @@
+-- Keyset pagination seeks on created_at, so every item needs one. Rows written without it
+-- (the column is nullable) take their last update time.
+UPDATE lost_items SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+UPDATE found_items SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
@@ -0,0 +1,34 @@
+-- Search and listing support for lost and found items.
+-- Statements are idempotent: databases that ran the former db/search-schema.sql already have them.
+
+ALTER TABLE lost_items ADD COLUMN IF NOT EXISTS search_vector tsvector;
+ALTER TABLE found_items ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+-- Keep the search document in sync with title and description on every write
+DROP TRIGGER IF EXISTS lost_items_search_vector_update ON lost_items;
+CREATE TRIGGER lost_items_search_vector_update
+    BEFORE INSERT OR UPDATE OF title, description ON lost_items
+    FOR EACH ROW EXECUTE FUNCTION tsvector_update_trigger(search_vector, 'pg_catalog.english', title, description);
+
+DROP TRIGGER IF EXISTS found_items_search_vector_update ON found_items;
+CREATE TRIGGER found_items_search_vector_update
+    BEFORE INSERT OR UPDATE OF title, description ON found_items
+    FOR EACH ROW EXECUTE FUNCTION tsvector_update_trigger(search_vector, 'pg_catalog.english', title, description);
+
+-- Backfill rows written before the trigger existed
+UPDATE lost_items
+SET search_vector = to_tsvector('pg_catalog.english', coalesce(title, '') || ' ' || coalesce(description, ''))
+WHERE search_vector IS NULL;
+
+UPDATE found_items
+SET search_vector = to_tsvector('pg_catalog.english', coalesce(title, '') || ' ' || coalesce(description, ''))
+WHERE search_vector IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_lost_items_search_vector ON lost_items USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_found_items_search_vector ON found_items USING GIN (search_vector);
+
+-- Keyset pagination: pages are read newest first by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_lost_items_created_at_id ON lost_items (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_found_items_created_at_id ON found_items (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_lost_items_status_created_at_id ON lost_items (status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_found_items_status_created_at_id ON found_items (status, created_at DESC, id DESC);
@@ -0,0 +1,7 @@
+-- Trigram indexes for case-insensitive substring and similarity search on item locations.
+-- They serve lower(location) LIKE '%...%' as well as the pg_trgm similarity operator (%).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_lost_items_location_trgm ON lost_items USING GIN (lower(location) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_found_items_location_trgm ON found_items USING GIN (lower(location) gin_trgm_ops);
@@ -0,0 +1,20 @@
+-- Candidate pairs produced by the lost/found matching engine, one row per scored pair.
+-- Rows go away with either item.
+
+CREATE TABLE item_matches (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    lost_item_id BIGINT NOT NULL REFERENCES lost_items (id) ON DELETE CASCADE,
+    found_item_id BIGINT NOT NULL REFERENCES found_items (id) ON DELETE CASCADE,
+    score DOUBLE PRECISION NOT NULL,
+    location_score DOUBLE PRECISION NOT NULL,
+    date_score DOUBLE PRECISION NOT NULL,
+    text_score DOUBLE PRECISION NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_item_matches_pair UNIQUE (lost_item_id, found_item_id)
+);
+
+CREATE INDEX idx_item_matches_found_item ON item_matches (found_item_id, score DESC);
+
+-- Blocking keys for candidate generation: same category within a date window
+CREATE INDEX IF NOT EXISTS idx_lost_items_category_lost_date ON lost_items (lower(category), lost_date);
+CREATE INDEX IF NOT EXISTS idx_found_items_category_found_date ON found_items (lower(category), found_date);
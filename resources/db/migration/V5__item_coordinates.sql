@@ -0,0 +1,24 @@
+-- Optional coordinates of item locations, with the cell of a fixed 0.005 degree grid
+-- (see utils.GeoGrid) so area searches only read the rows of nearby cells.
+
+ALTER TABLE lost_items
+    ADD COLUMN latitude DOUBLE PRECISION,
+    ADD COLUMN longitude DOUBLE PRECISION,
+    ADD COLUMN grid_cell BIGINT,
+    ADD CONSTRAINT ck_lost_items_coordinates CHECK (
+        (latitude IS NULL AND longitude IS NULL)
+        OR (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180));
+
+ALTER TABLE found_items
+    ADD COLUMN latitude DOUBLE PRECISION,
+    ADD COLUMN longitude DOUBLE PRECISION,
+    ADD COLUMN grid_cell BIGINT,
+    ADD CONSTRAINT ck_found_items_coordinates CHECK (
+        (latitude IS NULL AND longitude IS NULL)
+        OR (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180));
+
+-- Partial indexes: items without coordinates never match an area search
+CREATE INDEX idx_lost_items_grid_cell ON lost_items (grid_cell, created_at DESC, id DESC)
+    WHERE grid_cell IS NOT NULL;
+CREATE INDEX idx_found_items_grid_cell ON found_items (grid_cell, created_at DESC, id DESC)
+    WHERE grid_cell IS NOT NULL;
@@ -0,0 +1,54 @@
+-- Daily reporting rollups, maintained incrementally from item writes (services.ReportRollupService)
+-- and recomputed for recent days by a nightly compaction job.
+
+-- Items reported per day (of created_at), by type, category and current status
+CREATE TABLE item_daily_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    day DATE NOT NULL,
+    item_type VARCHAR(10) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    item_count BIGINT NOT NULL,
+    CONSTRAINT uk_item_daily_rollups UNIQUE (day, item_type, category, status)
+);
+
+-- Items claimed per day, by type, category and time-to-claim bucket
+-- (bucket 0: under 1 hour, bucket b: 2^(b-1) to 2^b hours)
+CREATE TABLE item_claim_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    day DATE NOT NULL,
+    item_type VARCHAR(10) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    bucket INTEGER NOT NULL,
+    claim_count BIGINT NOT NULL,
+    CONSTRAINT uk_item_claim_rollups UNIQUE (day, item_type, category, bucket)
+);
+
+CREATE INDEX idx_item_claim_rollups_day ON item_claim_rollups (day);
+
+-- Backfill from the existing items; claimed items use updated_at as their claim time
+INSERT INTO item_daily_rollups (day, item_type, category, status, item_count)
+SELECT created_at::date, 'lost', lower(trim(category)), status, count(*)
+FROM lost_items WHERE created_at IS NOT NULL
+GROUP BY created_at::date, lower(trim(category)), status;
+
+INSERT INTO item_daily_rollups (day, item_type, category, status, item_count)
+SELECT created_at::date, 'found', lower(trim(category)), status, count(*)
+FROM found_items WHERE created_at IS NOT NULL
+GROUP BY created_at::date, lower(trim(category)), status;
+
+INSERT INTO item_claim_rollups (day, item_type, category, bucket, claim_count)
+SELECT updated_at::date, 'lost', lower(trim(category)),
+       CASE WHEN updated_at - created_at < interval '1 hour' THEN 0
+            ELSE LEAST(12, floor(log(2, (extract(epoch FROM updated_at - created_at) / 3600)::numeric))::int + 1) END,
+       count(*)
+FROM lost_items WHERE status = 'claimed' AND created_at IS NOT NULL AND updated_at IS NOT NULL
+GROUP BY 1, 3, 4;
+
+INSERT INTO item_claim_rollups (day, item_type, category, bucket, claim_count)
+SELECT updated_at::date, 'found', lower(trim(category)),
+       CASE WHEN updated_at - created_at < interval '1 hour' THEN 0
+            ELSE LEAST(12, floor(log(2, (extract(epoch FROM updated_at - created_at) / 3600)::numeric))::int + 1) END,
+       count(*)
+FROM found_items WHERE status = 'claimed' AND created_at IS NOT NULL AND updated_at IS NOT NULL
+GROUP BY 1, 3, 4;
@@ -0,0 +1,14 @@
+-- JWT tokens revoked before their expiration (logout), checked in memory by
+-- services.TokenRevocationService and purged once the tokens have expired.
+CREATE TABLE revoked_tokens (
+    token_id VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- Tokens issued before this time are rejected (forced sign-out of all of a user's sessions)
+ALTER TABLE users ADD COLUMN tokens_valid_after TIMESTAMP(6);
@@ -0,0 +1,35 @@
+-- Sequence-based ids, so that Hibernate can batch inserts (IDENTITY columns force one round trip per row).
+-- Entities allocate ids in blocks of 50 (pooled optimizer): a sequence value v hands out ids v-49 to v.
+-- Each sequence restarts above the current maximum id, so existing ids are preserved; the column
+-- default uses the sequence too, so rows inserted outside the application never collide.
+-- The rollup tables keep their identity columns: they are only written by native upserts.
+
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
+
+CREATE SEQUENCE lost_items_seq INCREMENT BY 50;
+SELECT setval('lost_items_seq', COALESCE((SELECT MAX(id) FROM lost_items), 0) + 50, false);
+ALTER TABLE lost_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE lost_items ALTER COLUMN id SET DEFAULT nextval('lost_items_seq');
+ALTER SEQUENCE lost_items_seq OWNED BY lost_items.id;
+
+CREATE SEQUENCE found_items_seq INCREMENT BY 50;
+SELECT setval('found_items_seq', COALESCE((SELECT MAX(id) FROM found_items), 0) + 50, false);
+ALTER TABLE found_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE found_items ALTER COLUMN id SET DEFAULT nextval('found_items_seq');
+ALTER SEQUENCE found_items_seq OWNED BY found_items.id;
+
+CREATE SEQUENCE item_matches_seq INCREMENT BY 50;
+SELECT setval('item_matches_seq', COALESCE((SELECT MAX(id) FROM item_matches), 0) + 50, false);
+ALTER TABLE item_matches ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE item_matches ALTER COLUMN id SET DEFAULT nextval('item_matches_seq');
+ALTER SEQUENCE item_matches_seq OWNED BY item_matches.id;
+
+CREATE SEQUENCE refresh_tokens_seq INCREMENT BY 50;
+SELECT setval('refresh_tokens_seq', COALESCE((SELECT MAX(id) FROM refresh_tokens), 0) + 50, false);
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE refresh_tokens ALTER COLUMN id SET DEFAULT nextval('refresh_tokens_seq');
+ALTER SEQUENCE refresh_tokens_seq OWNED BY refresh_tokens.id;
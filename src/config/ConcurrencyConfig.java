@@ -0,0 +1,59 @@
+package config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors used to run independent queries, deliveries and password hashing off the request threads
+ * 
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    /**
+     * Executor for fanning out queries to the lost and found repositories in parallel.
+     * Virtual threads are cheap to block on JDBC calls, so each query gets its own thread.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService itemQueryExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Executor for delivering dashboard events to stream subscribers.
+     * Each subscriber drains its queue on its own virtual thread, so a slow client only blocks itself.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService dashboardStreamExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Executor for password hashing (signin and signup).
+     * BCrypt is CPU-bound, so a few platform threads with a bounded queue run it; when the queue is
+     * full, submissions fail fast with RejectedExecutionException instead of tying up request threads.
+     */
+    @Bean(destroyMethod = "close")
+    public ThreadPoolExecutor passwordHashingExecutor(
+            @Value("${auth.password-hashing.threads:0}") int threads,
+            @Value("${auth.password-hashing.queue-capacity:200}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
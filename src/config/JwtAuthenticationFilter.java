@@ -7,14 +7,16 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import services.TokenRevocationService;
+import services.UserStatusCache;
+import utils.JwtAuthenticationToken;
+import utils.JwtClaims;
 import utils.JwtUtils;
-import utils.UserDetailsServiceImpl;
+import utils.UserDetailsImpl;
 
 import java.io.IOException;
 
@@ -29,19 +31,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+            // The token is parsed and verified once; its claims travel with the authentication
+            JwtClaims claims = jwt == null ? null : jwtUtils.parseJwtToken(jwt);
+            // The principal is built from the claims; only revocation and the ban status are checked, in memory
+            if (claims != null && !tokenRevocationService.isRevoked(claims)
+                    && userStatusCache.isAllowed(claims.getUserId(), claims.getIssuedAt())) {
+                UserDetailsImpl userDetails = UserDetailsImpl.build(claims);
+                JwtAuthenticationToken authentication = new JwtAuthenticationToken(
+                        userDetails, claims, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,38 @@
+package config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers PostgreSQL full-text search and facet functions for use in JPQL and Criteria queries
+ * 
+ * Loaded by Hibernate through META-INF/services, so it is not a Spring bean.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        // fts_match(searchVector, keyword): rendered as an @@ operator so the GIN index can be used
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fts_match",
+                "(?1 @@ websearch_to_tsquery('english', ?2))",
+                basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+
+        // fts_rank(searchVector, keyword): relevance of a match, as double precision so that a rank
+        // read back by the application compares equal to the one computed by the database
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fts_rank",
+                "cast(ts_rank(?1, websearch_to_tsquery('english', ?2)) as double precision)",
+                basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE));
+
+        // item_month(date): "YYYY-MM" bucket of a date, for month facets
+        functionContributions.getFunctionRegistry().registerPattern(
+                "item_month",
+                "to_char(?1, 'YYYY-MM')",
+                basicTypeRegistry.resolve(StandardBasicTypes.STRING));
+    }
+}
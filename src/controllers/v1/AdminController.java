@@ -2,13 +2,25 @@ package controllers.v1;
 
 import entities.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.CurrentSecurityContext;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import payloads.response.ApiResponse;
 import services.AdminService;
+import services.DashboardStreamService;
+import services.ItemImportService;
+import services.ReportRollupService;
+import utils.JwtClaims;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -23,6 +35,15 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private ReportRollupService reportRollupService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private ItemImportService itemImportService;
+
     /**
      * Updates user ban status
      * 
@@ -50,6 +71,24 @@ public class AdminController {
         }
     }
 
+    /**
+     * Revokes every token issued to a user so far
+     * 
+     * @param id the ID of the user
+     * @return ResponseEntity with API response
+     */
+    @PostMapping("/users/{id}/revoke-tokens")
+    public ResponseEntity<ApiResponse<User>> revokeUserTokens(@PathVariable Long id) {
+        try {
+            User updatedUser = adminService.revokeUserTokens(id);
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "User tokens revoked successfully", updatedUser));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(404, e.getMessage()));
+        }
+    }
+
     /**
      * Updates item status (approve/reject)
      * 
@@ -85,6 +124,45 @@ public class AdminController {
         }
     }
 
+    /**
+     * Imports lost or found items in bulk from a CSV or NDJSON body
+     * 
+     * Rows are parsed and inserted in batches as they are read; invalid rows are skipped
+     * and reported by row number, so one bad row does not fail the import.
+     * 
+     * @param type the type of items (lost/found)
+     * @param format the body format (csv/ndjson), taken from the content type when omitted
+     * @param status the status of the imported items (pending/active)
+     * @param contentType the content type of the body
+     * @param body the request body
+     * @param claims the verified JWT claims of the current user
+     * @return ResponseEntity with API response
+     */
+    @PostMapping("/items/import")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> importItems(
+            @RequestParam String type,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "pending") String status,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body,
+            @CurrentSecurityContext(expression = "authentication.claims") JwtClaims claims) {
+        try {
+            if (format == null) {
+                format = contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv") ? "csv" : "ndjson";
+            }
+            Map<String, Object> report = itemImportService.importItems(
+                    type.toLowerCase(Locale.ROOT), format.toLowerCase(Locale.ROOT), status, body, claims);
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Items imported", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(400, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(500, e.getMessage()));
+        }
+    }
+
     /**
      * Gets system reports
      * 
@@ -101,4 +179,68 @@ public class AdminController {
                     .body(ApiResponse.error(500, e.getMessage()));
         }
     }
+
+    /**
+     * Gets items reported and claimed per day or week, per category trends and
+     * the time-to-claim distribution, read from the daily rollups
+     * 
+     * @param from first day (default: 29 days before to)
+     * @param to last day (default: today)
+     * @param interval "day" or "week"
+     * @param type optional type of items (lost/found)
+     * @return ResponseEntity with API response
+     */
+    @GetMapping("/reports/timeseries")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getTimeseriesReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String interval,
+            @RequestParam(required = false) String type) {
+        try {
+            LocalDate end = to == null ? LocalDate.now() : to;
+            LocalDate start = from == null ? end.minusDays(29) : from;
+            
+            Map<String, Object> report = reportRollupService.getTimeseries(start, end, interval, type);
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Time series report retrieved successfully", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(400, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(500, e.getMessage()));
+        }
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of live dashboard events
+     * (statistics changes and new pending items), instead of polling
+     * 
+     * @return ResponseEntity with the event stream, or 503 if too many streams are open
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamDashboardEvents() {
+        try {
+            return ResponseEntity.ok(dashboardStreamService.subscribe());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Gets runtime metrics (cache hit rates, sizes)
+     * 
+     * @return ResponseEntity with API response
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRuntimeMetrics() {
+        try {
+            Map<String, Object> metrics = adminService.getRuntimeMetrics();
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Runtime metrics retrieved successfully", metrics));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(500, e.getMessage()));
+        }
+    }
 }
@@ -1,23 +1,30 @@
 package controllers.v1;
 
-import entities.User;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import payloads.request.LoginRequest;
+import payloads.request.RefreshTokenRequest;
 import payloads.request.SignupRequest;
 import payloads.response.ApiResponse;
+import payloads.response.UserResponse;
 import services.AuthService;
+import utils.JwtAuthenticationToken;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
- * Authentication controller for signup and signin endpoints
+ * Authentication controller for signup, signin, token refresh and logout endpoints
  * 
  */
 @RestController
@@ -28,38 +35,100 @@ public class AuthController {
     private AuthService authService;
 
     /**
-     * Registers a new user
+     * Registers a new user; the password is hashed off the request thread
      * 
      * @param request the signup request
-     * @return ResponseEntity with API response
+     * @return future of the ResponseEntity with API response
      */
     @PostMapping("/signup")
-    public ResponseEntity<ApiResponse<User>> registerUser(@Valid @RequestBody SignupRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<UserResponse>>> registerUser(@Valid @RequestBody SignupRequest request) {
         try {
-            User user = authService.registerUser(request);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success(201, "User registered successfully", user));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error(400, e.getMessage()));
+            return authService.registerUserAsync(request).handle((user, e) -> {
+                if (e == null) {
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(ApiResponse.success(201, "User registered successfully", user));
+                }
+                // Only a duplicate email is the client's fault; other integrity errors are ours
+                if (cause(e) instanceof IllegalArgumentException) {
+                    return ResponseEntity.badRequest()
+                            .body(ApiResponse.error(400, cause(e).getMessage()));
+                }
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(ApiResponse.error(500, "Could not register user"));
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
         }
     }
 
     /**
-     * Authenticates user and generates JWT token
+     * Authenticates user and generates JWT token; the password is checked off the request thread
      * 
      * @param request the login request
-     * @return ResponseEntity with API response
+     * @return future of the ResponseEntity with API response
      */
     @PostMapping("/signin")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> authenticateUser(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<Map<String, Object>>>> authenticateUser(@Valid @RequestBody LoginRequest request) {
+        try {
+            return authService.authenticateUserAsync(request).handle((response, e) -> e == null
+                    ? ResponseEntity.ok()
+                            .body(ApiResponse.success(200, "Authentication successful", response))
+                    : ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                            .body(ApiResponse.error(401, cause(e).getMessage())));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
+        }
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token
+     * 
+     * @param request the refresh token request
+     * @return ResponseEntity with API response
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
         try {
-            Map<String, Object> response = authService.authenticateUser(request);
+            Map<String, Object> response = authService.refreshToken(request.getRefreshToken());
             return ResponseEntity.ok()
-                    .body(ApiResponse.success(200, "Authentication successful", response));
+                    .body(ApiResponse.success(200, "Token refreshed successfully", response));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error(401, e.getMessage()));
         }
     }
+
+    /**
+     * Signs out by revoking the token of the request
+     * 
+     * @param authentication the authentication of the request
+     * @return ResponseEntity with API response
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(Authentication authentication) {
+        if (!(authentication instanceof JwtAuthenticationToken token)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(401, "A valid token is required"));
+        }
+
+        try {
+            authService.logout(token.getClaims());
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Logged out successfully", null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(500, e.getMessage()));
+        }
+    }
+
+    // Fails fast when too many passwords are waiting to be hashed, instead of queueing requests
+    private static <T> ResponseEntity<ApiResponse<T>> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(503, "Too many sign-in requests, please retry shortly"));
+    }
+
+    private static Throwable cause(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
 }
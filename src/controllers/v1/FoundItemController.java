@@ -6,9 +6,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.CurrentSecurityContext;
 import org.springframework.web.bind.annotation.*;
 import payloads.response.ApiResponse;
+import payloads.response.CursorPage;
+import payloads.response.ItemMatchResponse;
 import services.FoundItemService;
+import services.MatchingService;
+import utils.JwtClaims;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -26,20 +31,22 @@ public class FoundItemController {
     @Autowired
     private FoundItemService foundItemService;
 
+    @Autowired
+    private MatchingService matchingService;
+
     /**
      * Creates a new found item
      * 
      * @param foundItem the found item to create
-     * @param authHeader the authorization header with JWT token
+     * @param claims the verified JWT claims of the current user
      * @return ResponseEntity with API response
      */
     @PostMapping
     public ResponseEntity<ApiResponse<FoundItem>> createFoundItem(
             @Valid @RequestBody FoundItem foundItem, 
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentSecurityContext(expression = "authentication.claims") JwtClaims claims) {
         try {
-            String token = authHeader.substring(7);
-            FoundItem createdFoundItem = foundItemService.createFoundItem(foundItem, token);
+            FoundItem createdFoundItem = foundItemService.createFoundItem(foundItem, claims);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success(201, "Found item created successfully", createdFoundItem));
         } catch (Exception e) {
@@ -48,6 +55,28 @@ public class FoundItemController {
         }
     }
 
+    /**
+     * Gets found items, newest first, one page at a time
+     * 
+     * @param cursor cursor returned with the previous page
+     * @param limit page size
+     * @return ResponseEntity with API response
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<FoundItem>>> getFoundItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<FoundItem> page = foundItemService.getFoundItems(cursor, limit);
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Found items retrieved successfully",
+                            page.getItems(), page.getNextCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(400, e.getMessage()));
+        }
+    }
+
     /**
      * Gets a found item by ID
      * 
@@ -66,22 +95,39 @@ public class FoundItemController {
         }
     }
 
+    /**
+     * Gets the candidate matches of a found item, best first
+     * 
+     * @param id the ID of the found item
+     * @return ResponseEntity with API response
+     */
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<ApiResponse<List<ItemMatchResponse>>> getFoundItemMatches(@PathVariable Long id) {
+        try {
+            List<ItemMatchResponse> matches = matchingService.getFoundItemMatches(id);
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Matches retrieved successfully", matches));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(404, e.getMessage()));
+        }
+    }
+
     /**
      * Updates a found item
      * 
      * @param id the ID of the found item to update
      * @param foundItemDetails the updated found item details
-     * @param authHeader the authorization header with JWT token
+     * @param claims the verified JWT claims of the current user
      * @return ResponseEntity with API response
      */
     @PatchMapping("/{id}")
     public ResponseEntity<ApiResponse<FoundItem>> updateFoundItem(
             @PathVariable Long id,
             @RequestBody FoundItem foundItemDetails,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentSecurityContext(expression = "authentication.claims") JwtClaims claims) {
         try {
-            String token = authHeader.substring(7);
-            FoundItem updatedFoundItem = foundItemService.updateFoundItem(id, foundItemDetails, token);
+            FoundItem updatedFoundItem = foundItemService.updateFoundItem(id, foundItemDetails, claims);
             return ResponseEntity.ok()
                     .body(ApiResponse.success(200, "Found item updated successfully", updatedFoundItem));
         } catch (Exception e) {
@@ -89,6 +135,10 @@ public class FoundItemController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(ApiResponse.error(403, e.getMessage()));
             }
+            if (e instanceof IllegalArgumentException) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error(400, e.getMessage()));
+            }
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(404, e.getMessage()));
         }
@@ -98,16 +148,15 @@ public class FoundItemController {
      * Deletes a found item
      * 
      * @param id the ID of the found item to delete
-     * @param authHeader the authorization header with JWT token
+     * @param claims the verified JWT claims of the current user
      * @return ResponseEntity with API response
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Map<String, String>>> deleteFoundItem(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentSecurityContext(expression = "authentication.claims") JwtClaims claims) {
         try {
-            String token = authHeader.substring(7);
-            foundItemService.deleteFoundItem(id, token);
+            foundItemService.deleteFoundItem(id, claims);
             
             Map<String, String> message = new HashMap<>();
             message.put("message", "Found item deleted successfully");
@@ -4,13 +4,19 @@ import entities.FoundItem;
 import entities.LostItem;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import payloads.response.ApiResponse;
+import payloads.response.CursorPage;
+import payloads.response.TypedItem;
 import services.FoundItemService;
+import services.ItemExportService;
+import services.ItemSearchService;
+import services.ItemStatistics;
 import services.LostItemService;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,64 +33,112 @@ public class ItemController {
     @Autowired
     private FoundItemService foundItemService;
 
+    @Autowired
+    private ItemSearchService itemSearchService;
+
+    @Autowired
+    private ItemExportService itemExportService;
+
+    @Autowired
+    private ItemStatistics itemStatistics;
+
     /**
-     * Gets all items (both lost and found)
+     * Gets all items (both lost and found), newest first, one page at a time
+     * 
+     * Without a type, each page holds up to limit lost items and up to limit found items,
+     * and the returned cursor tracks both lists. With type=all, lost and found items are
+     * merged into a single list tagged with their type. Both lists are fetched concurrently.
      * 
-     * @param type optional filter by type (lost/found)
+     * @param type optional filter by type (lost/found/all)
+     * @param cursor cursor returned with the previous page
+     * @param limit page size
      * @return ResponseEntity with API response
      */
     @GetMapping
-    public ResponseEntity<?> getAllItems(@RequestParam(required = false) String type) {
+    public ResponseEntity<?> getAllItems(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             if (type == null || type.isEmpty()) {
-                // Get both lost and found items
-                List<LostItem> lostItems = lostItemService.getAllLostItems();
-                List<FoundItem> foundItems = foundItemService.getAllFoundItems();
+                // Get both lost and found items, each from its own position in the combined cursor
+                ItemSearchService.LostAndFoundPages pages = itemSearchService.getLostAndFoundItems(cursor, limit);
                 
                 Map<String, Object> data = Map.of(
-                    "lost_items", lostItems,
-                    "found_items", foundItems
+                    "lost_items", pages.lostItems(),
+                    "found_items", pages.foundItems()
                 );
+                String nextCursor = pages.nextCursor();
                 
                 return ResponseEntity.ok()
-                        .body(ApiResponse.success(200, "All items retrieved successfully", data));
+                        .body(ApiResponse.success(200, "All items retrieved successfully", data, nextCursor));
             } else if (type.equalsIgnoreCase("lost")) {
                 // Get only lost items
-                List<LostItem> lostItems = lostItemService.getAllLostItems();
+                CursorPage<LostItem> lostItems = lostItemService.getLostItems(cursor, limit);
                 return ResponseEntity.ok()
-                        .body(ApiResponse.success(200, "Lost items retrieved successfully", lostItems));
+                        .body(ApiResponse.success(200, "Lost items retrieved successfully",
+                                lostItems.getItems(), lostItems.getNextCursor()));
             } else if (type.equalsIgnoreCase("found")) {
                 // Get only found items
-                List<FoundItem> foundItems = foundItemService.getAllFoundItems();
+                CursorPage<FoundItem> foundItems = foundItemService.getFoundItems(cursor, limit);
                 return ResponseEntity.ok()
-                        .body(ApiResponse.success(200, "Found items retrieved successfully", foundItems));
+                        .body(ApiResponse.success(200, "Found items retrieved successfully",
+                                foundItems.getItems(), foundItems.getNextCursor()));
+            } else if (type.equalsIgnoreCase("all")) {
+                // Get lost and found items merged into one list, newest first
+                CursorPage<TypedItem> items = itemSearchService.getMergedItems(null, cursor, limit);
+                return ResponseEntity.ok()
+                        .body(ApiResponse.success(200, "All items retrieved successfully",
+                                items.getItems(), items.getNextCursor()));
             } else {
                 return ResponseEntity.badRequest()
-                        .body(ApiResponse.error(400, "Invalid type. Must be 'lost' or 'found'"));
+                        .body(ApiResponse.error(400, "Invalid type. Must be 'lost', 'found' or 'all'"));
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(400, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error(500, e.getMessage()));
         }
     }
 
+    /**
+     * Exports all items as NDJSON, one {"type", "item"} object per line
+     * 
+     * Items are written to the response as they are read from the database,
+     * so memory use stays constant however many items there are.
+     * 
+     * @param type optional filter by type (lost/found/all)
+     * @return ResponseEntity streaming the items
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportItems(@RequestParam(required = false) String type) {
+        if (type != null && !type.equalsIgnoreCase("lost") && !type.equalsIgnoreCase("found")
+                && !type.equalsIgnoreCase("all")) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(400, "Invalid type. Must be 'lost', 'found' or 'all'"));
+        }
+        
+        String exportType = type == null || type.equalsIgnoreCase("all") ? null : type;
+        StreamingResponseBody body = out -> itemExportService.exportItems(exportType, out);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Gets statistics about items
      * 
+     * Served from in-memory counters, without querying the database.
+     * 
      * @return ResponseEntity with API response
      */
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getItemStats() {
         try {
-            long totalLostItems = lostItemService.getAllLostItems().size();
-            long totalFoundItems = foundItemService.getAllFoundItems().size();
-            long totalItems = totalLostItems + totalFoundItems;
-            
-            Map<String, Object> stats = Map.of(
-                "total_items", totalItems,
-                "total_lost_items", totalLostItems,
-                "total_found_items", totalFoundItems
-            );
+            Map<String, Object> stats = itemStatistics.getStats();
             
             return ResponseEntity.ok()
                     .body(ApiResponse.success(200, "Item statistics retrieved successfully", stats));
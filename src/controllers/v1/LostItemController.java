@@ -6,9 +6,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.CurrentSecurityContext;
 import org.springframework.web.bind.annotation.*;
 import payloads.response.ApiResponse;
+import payloads.response.CursorPage;
+import payloads.response.ItemMatchResponse;
 import services.LostItemService;
+import services.MatchingService;
+import utils.JwtClaims;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -26,20 +31,22 @@ public class LostItemController {
     @Autowired
     private LostItemService lostItemService;
 
+    @Autowired
+    private MatchingService matchingService;
+
     /**
      * Creates a new lost item
      * 
      * @param lostItem the lost item to create
-     * @param authHeader the authorization header with JWT token
+     * @param claims the verified JWT claims of the current user
      * @return ResponseEntity with API response
      */
     @PostMapping
     public ResponseEntity<ApiResponse<LostItem>> createLostItem(
             @Valid @RequestBody LostItem lostItem, 
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentSecurityContext(expression = "authentication.claims") JwtClaims claims) {
         try {
-            String token = authHeader.substring(7);
-            LostItem createdLostItem = lostItemService.createLostItem(lostItem, token);
+            LostItem createdLostItem = lostItemService.createLostItem(lostItem, claims);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success(201, "Lost item created successfully", createdLostItem));
         } catch (Exception e) {
@@ -48,6 +55,28 @@ public class LostItemController {
         }
     }
 
+    /**
+     * Gets lost items, newest first, one page at a time
+     * 
+     * @param cursor cursor returned with the previous page
+     * @param limit page size
+     * @return ResponseEntity with API response
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<LostItem>>> getLostItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<LostItem> page = lostItemService.getLostItems(cursor, limit);
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Lost items retrieved successfully",
+                            page.getItems(), page.getNextCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(400, e.getMessage()));
+        }
+    }
+
     /**
      * Gets a lost item by ID
      * 
@@ -66,22 +95,39 @@ public class LostItemController {
         }
     }
 
+    /**
+     * Gets the candidate matches of a lost item, best first
+     * 
+     * @param id the ID of the lost item
+     * @return ResponseEntity with API response
+     */
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<ApiResponse<List<ItemMatchResponse>>> getLostItemMatches(@PathVariable Long id) {
+        try {
+            List<ItemMatchResponse> matches = matchingService.getLostItemMatches(id);
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Matches retrieved successfully", matches));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(404, e.getMessage()));
+        }
+    }
+
     /**
      * Updates a lost item
      * 
      * @param id the ID of the lost item to update
      * @param lostItemDetails the updated lost item details
-     * @param authHeader the authorization header with JWT token
+     * @param claims the verified JWT claims of the current user
      * @return ResponseEntity with API response
      */
     @PatchMapping("/{id}")
     public ResponseEntity<ApiResponse<LostItem>> updateLostItem(
             @PathVariable Long id,
             @RequestBody LostItem lostItemDetails,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentSecurityContext(expression = "authentication.claims") JwtClaims claims) {
         try {
-            String token = authHeader.substring(7);
-            LostItem updatedLostItem = lostItemService.updateLostItem(id, lostItemDetails, token);
+            LostItem updatedLostItem = lostItemService.updateLostItem(id, lostItemDetails, claims);
             return ResponseEntity.ok()
                     .body(ApiResponse.success(200, "Lost item updated successfully", updatedLostItem));
         } catch (Exception e) {
@@ -89,6 +135,10 @@ public class LostItemController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(ApiResponse.error(403, e.getMessage()));
             }
+            if (e instanceof IllegalArgumentException) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error(400, e.getMessage()));
+            }
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(404, e.getMessage()));
         }
@@ -98,16 +148,15 @@ public class LostItemController {
      * Deletes a lost item
      * 
      * @param id the ID of the lost item to delete
-     * @param authHeader the authorization header with JWT token
+     * @param claims the verified JWT claims of the current user
      * @return ResponseEntity with API response
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Map<String, String>>> deleteLostItem(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentSecurityContext(expression = "authentication.claims") JwtClaims claims) {
         try {
-            String token = authHeader.substring(7);
-            lostItemService.deleteLostItem(id, token);
+            lostItemService.deleteLostItem(id, claims);
             
             Map<String, String> message = new HashMap<>();
             message.put("message", "Lost item deleted successfully");
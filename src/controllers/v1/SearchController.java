@@ -10,12 +10,24 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import payloads.request.ItemSearchRequest;
 import payloads.response.ApiResponse;
+import payloads.response.CursorPage;
+import payloads.response.FuzzySearchHit;
+import payloads.response.Suggestion;
+import payloads.response.TypedItem;
 import services.FoundItemService;
+import services.FuzzySearchIndex;
+import services.ItemSearchService;
+import services.LocationService;
 import services.LostItemService;
+import services.SearchFacetService;
+import services.SuggestionIndex;
+import utils.GeoArea;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for searching lost and found items
@@ -31,14 +43,41 @@ public class SearchController {
     @Autowired
     private FoundItemService foundItemService;
 
+    @Autowired
+    private ItemSearchService itemSearchService;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private SearchFacetService searchFacetService;
+
+    @Autowired
+    private FuzzySearchIndex fuzzySearchIndex;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
     /**
      * Searches for lost or found items based on criteria
      * 
-     * @param type the type of items to search (lost/found)
+     * With type=all, both types are searched concurrently and merged newest first,
+     * each result tagged with its type.
+     * 
+     * @param type the type of items to search (lost/found/all)
      * @param keyword keyword to search in title or description
      * @param location location to search
+     * @param category category to filter by
+     * @param status status to filter by
      * @param startDate start date of range
      * @param endDate end date of range
+     * @param latitude latitude of the center of a radius search
+     * @param longitude longitude of the center of a radius search
+     * @param radius radius in meters around latitude/longitude
+     * @param bbox bounding box "south,west,north,east", instead of a radius
+     * @param cursor cursor returned with the previous page
+     * @param limit page size
+     * @param facets whether to also return the result counts per category, status, location and month
      * @return ResponseEntity with API response
      */
     @GetMapping
@@ -46,25 +85,177 @@ public class SearchController {
             @RequestParam String type,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String location,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean facets) {
         
         try {
+            ItemSearchRequest request = new ItemSearchRequest(keyword, location, category, status, startDate, endDate,
+                    searchArea(latitude, longitude, radius, bbox));
+            
             if (type.equalsIgnoreCase("lost")) {
-                List<LostItem> results = lostItemService.searchLostItems(keyword, location, startDate, endDate);
+                CursorPage<LostItem> results = lostItemService.searchLostItems(request, cursor, limit);
                 return ResponseEntity.ok()
-                        .body(ApiResponse.success(200, "Search results for lost items", results));
+                        .body(ApiResponse.success(200, searchMessage("lost", results, location, cursor),
+                                results.getItems(), results.getNextCursor(), facets ? facets("lost", request) : null));
             } else if (type.equalsIgnoreCase("found")) {
-                List<FoundItem> results = foundItemService.searchFoundItems(keyword, location, startDate, endDate);
+                CursorPage<FoundItem> results = foundItemService.searchFoundItems(request, cursor, limit);
                 return ResponseEntity.ok()
-                        .body(ApiResponse.success(200, "Search results for found items", results));
+                        .body(ApiResponse.success(200, searchMessage("found", results, location, cursor),
+                                results.getItems(), results.getNextCursor(), facets ? facets("found", request) : null));
+            } else if (type.equalsIgnoreCase("all")) {
+                CursorPage<TypedItem> results = itemSearchService.getMergedItems(request, cursor, limit);
+                return ResponseEntity.ok()
+                        .body(ApiResponse.success(200, searchMessage("all", results, location, cursor),
+                                results.getItems(), results.getNextCursor(), facets ? facets("all", request) : null));
             } else {
                 return ResponseEntity.badRequest()
-                        .body(ApiResponse.error(400, "Type must be 'lost' or 'found'"));
+                        .body(ApiResponse.error(400, "Type must be 'lost', 'found' or 'all'"));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(400, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(500, e.getMessage()));
+        }
+    }
+
+    /**
+     * Searches item titles and categories, tolerating typos ("iphnoe", "walet")
+     * 
+     * Answered from an in-memory index, without querying the database.
+     * 
+     * @param query the words to search for
+     * @param type optional type of items (lost/found/all)
+     * @param status status of the items (default "active")
+     * @param limit maximum number of results
+     * @return ResponseEntity with API response
+     */
+    @GetMapping("/fuzzy")
+    public ResponseEntity<?> fuzzySearch(
+            @RequestParam String query,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "active") String status,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            if (query.isBlank()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error(400, "query must not be blank"));
             }
+            
+            String itemType = type == null || type.equalsIgnoreCase("all") ? null : type;
+            List<FuzzySearchHit> hits = fuzzySearchIndex.search(query, itemType, status.trim().toLowerCase(),
+                    Math.max(1, Math.min(limit, 100)));
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Fuzzy search results", hits));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error(500, e.getMessage()));
         }
     }
+
+    /**
+     * Suggests item titles, locations and categories starting with the typed prefix
+     * 
+     * Answered from an in-memory prefix index, without querying the database.
+     * 
+     * @param prefix the text typed so far
+     * @param field optional field to suggest (title/location/category)
+     * @param limit maximum number of suggestions
+     * @return ResponseEntity with API response
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) String field,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            if (field != null && !SuggestionIndex.FIELDS.contains(field.toLowerCase())) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error(400, "Field must be 'title', 'location' or 'category'"));
+            }
+            
+            List<Suggestion> suggestions = suggestionIndex.suggest(prefix,
+                    field == null ? null : field.toLowerCase(),
+                    Math.max(1, Math.min(limit, SuggestionIndex.MAX_SUGGESTIONS)));
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Suggestions retrieved successfully", suggestions));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(500, e.getMessage()));
+        }
+    }
+
+    /**
+     * Finds known item locations for a location filter, with a "did you mean"
+     * similarity fallback when no location contains the query
+     * 
+     * @param query the location text typed by the user
+     * @param type optional type of items (lost/found)
+     * @param limit maximum number of locations
+     * @return ResponseEntity with API response
+     */
+    @GetMapping("/locations")
+    public ResponseEntity<?> findLocations(
+            @RequestParam String query,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            if (query.isBlank()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error(400, "query must not be blank"));
+            }
+            
+            Map<String, Object> locations = locationService.findLocations(query, type, limit);
+            return ResponseEntity.ok()
+                    .body(ApiResponse.success(200, "Locations retrieved successfully", locations));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(500, e.getMessage()));
+        }
+    }
+
+    private GeoArea searchArea(Double latitude, Double longitude, Double radius, String bbox) {
+        if (bbox != null) {
+            if (latitude != null || longitude != null || radius != null) {
+                throw new IllegalArgumentException("Use either bbox or latitude/longitude/radius, not both");
+            }
+            return GeoArea.parseBox(bbox);
+        }
+        if (latitude == null && longitude == null && radius == null) {
+            return null;
+        }
+        if (latitude == null || longitude == null || radius == null) {
+            throw new IllegalArgumentException("latitude, longitude and radius must be set together");
+        }
+        return GeoArea.around(latitude, longitude, radius);
+    }
+
+    private Map<String, Object> facets(String type, ItemSearchRequest request) {
+        return searchFacetService.getFacets(type.equals("all") ? null : type, request);
+    }
+
+    private String searchMessage(String type, CursorPage<?> results, String location, String cursor) {
+        String message = "Search results for " + type + " items";
+        
+        // Suggest similar known locations when a location filter matched nothing
+        if (results.getItems().isEmpty() && cursor == null && location != null && !location.isBlank()) {
+            String locationType = type.equals("all") ? null : type;
+            List<String> similar = locationService.findSimilarLocations(location.trim(), locationType, 3);
+            if (!similar.isEmpty()) {
+                message += ". Did you mean: " + String.join(", ", similar) + "?";
+            }
+        }
+        
+        return message;
+    }
 }
@@ -0,0 +1,16 @@
+package entities;
+
+import java.util.Date;
+
+/**
+ * Common view of lost and found items
+ * 
+ * Implemented through the Lombok-generated getters of LostItem and FoundItem.
+ * 
+ */
+public interface Item {
+    
+    Long getId();
+    
+    Date getCreatedAt();
+}
@@ -0,0 +1,44 @@
+package entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * Number of items claimed on a day, by type, category and time-to-claim bucket
+ * 
+ */
+@Entity
+@Table(name = "item_claim_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemClaimRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private LocalDate day;
+    
+    @Column(name = "item_type", nullable = false)
+    private String itemType; // "lost" or "found"
+    
+    @Column(nullable = false)
+    private String category; // lowercase
+    
+    // 0: claimed within 1 hour; b: claimed after 2^(b-1) to 2^b hours
+    @Column(nullable = false)
+    private int bucket;
+    
+    @Column(name = "claim_count", nullable = false)
+    private long claimCount;
+}
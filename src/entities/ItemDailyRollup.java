@@ -0,0 +1,43 @@
+package entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * Number of items reported on a day, by type, category and current status
+ * 
+ */
+@Entity
+@Table(name = "item_daily_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemDailyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private LocalDate day;
+    
+    @Column(name = "item_type", nullable = false)
+    private String itemType; // "lost" or "found"
+    
+    @Column(nullable = false)
+    private String category; // lowercase
+    
+    @Column(nullable = false)
+    private String status;
+    
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+}
@@ -0,0 +1,59 @@
+package entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.Date;
+
+/**
+ * ItemMatch entity pairing a lost item with a found item that may be the same object
+ * 
+ */
+@Entity
+@Table(name = "item_matches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemMatch {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_matches_seq")
+    @SequenceGenerator(name = "item_matches_seq", sequenceName = "item_matches_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lost_item_id", nullable = false)
+    private LostItem lostItem;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "found_item_id", nullable = false)
+    private FoundItem foundItem;
+    
+    @Column(nullable = false)
+    private double score; // 0..1, weighted sum of the partial scores below
+    
+    @Column(name = "location_score", nullable = false)
+    private double locationScore;
+    
+    @Column(name = "date_score", nullable = false)
+    private double dateScore;
+    
+    @Column(name = "text_score", nullable = false)
+    private double textScore;
+    
+    @Column(name = "created_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt = new Date();
+}
@@ -1,5 +1,6 @@
 package entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -7,12 +8,16 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import utils.GeoGrid;
 import java.util.Date;
 
 /**
@@ -24,10 +29,11 @@ import java.util.Date;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class LostItem {
+public class LostItem implements Item {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lost_items_seq")
+    @SequenceGenerator(name = "lost_items_seq", sequenceName = "lost_items_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -46,6 +52,16 @@ public class LostItem {
     @Column(nullable = false)
     private String location;
     
+    // Optional coordinates of the location
+    private Double latitude;
+    
+    private Double longitude;
+    
+    // Cell of the coordinates in the spatial grid (see utils.GeoGrid), maintained on save
+    @JsonIgnore
+    @Column(name = "grid_cell")
+    private Long gridCell;
+    
     @Column(name = "image_url")
     private String imageUrl;
     
@@ -56,6 +72,12 @@ public class LostItem {
     @Column(nullable = false)
     private String status = "pending"; // "pending", "active", "claimed", "rejected"
     
+    // When the item entered the "claimed" status; kept while it stays claimed, for the claim reports
+    @JsonIgnore
+    @Column(name = "claimed_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date claimedAt;
+    
     @Column(name = "created_at")
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt = new Date();
@@ -63,4 +85,29 @@ public class LostItem {
     @Column(name = "updated_at")
     @Temporal(TemporalType.TIMESTAMP)
     private Date updatedAt = new Date();
+    
+    // Full-text search document, maintained by a database trigger (see db/migration/V2__search_indexes.sql)
+    @JsonIgnore
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String searchVector;
+    
+    /**
+     * Sets the status, recording when the item was claimed
+     * 
+     * @param status the new status
+     */
+    public void setStatus(String status) {
+        if (!"claimed".equals(status)) {
+            claimedAt = null;
+        } else if (!"claimed".equals(this.status) || claimedAt == null) {
+            claimedAt = new Date();
+        }
+        this.status = status;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void updateGridCell() {
+        gridCell = GeoGrid.cellOf(latitude, longitude);
+    }
 }
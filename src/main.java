@@ -3,6 +3,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application entry point for Lost and Found application
@@ -22,6 +23,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 })
 @EntityScan("entities")
 @EnableJpaRepositories("repositories")
+@EnableScheduling
 class Main {
     public static void main(String[] args) {
         SpringApplication.run(Main.class, args);
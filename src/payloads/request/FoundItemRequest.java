@@ -28,6 +28,10 @@ public class FoundItemRequest {
     
     private String imageUrl;
     
+    private Double latitude;
+    
+    private Double longitude;
+    
     @NotNull(message = "Found date is required")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private Date foundDate;
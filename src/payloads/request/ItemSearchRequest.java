@@ -0,0 +1,53 @@
+package payloads.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import utils.GeoArea;
+
+import java.util.Date;
+
+/**
+ * Search filters for lost and found items
+ * 
+ * Every filter is optional; the ones that are set are combined with AND.
+ * 
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSearchRequest {
+    
+    private String keyword;
+    
+    private String location;
+    
+    private String category;
+    
+    private String status;
+    
+    private Date startDate;
+    
+    private Date endDate;
+    
+    private GeoArea area; // radius or bounding box around item coordinates
+    
+    /**
+     * Checks whether no filter has been set
+     * 
+     * @return true if the request has no filters
+     */
+    public boolean hasNoFilters() {
+        return keyword == null && location == null && category == null
+                && status == null && startDate == null && endDate == null && area == null;
+    }
+    
+    /**
+     * Checks whether a full-text keyword has been set
+     * 
+     * @return true if the request has a non-blank keyword
+     */
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isBlank();
+    }
+}
@@ -28,6 +28,10 @@ public class LostItemRequest {
     
     private String imageUrl;
     
+    private Double latitude;
+    
+    private Double longitude;
+    
     @NotNull(message = "Lost date is required")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private Date lostDate;
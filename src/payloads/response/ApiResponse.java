@@ -1,9 +1,12 @@
 package payloads.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 /**
  * Generic API response class
  * 
@@ -16,11 +19,26 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor; // opaque cursor of the next page, for paginated responses
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Object> facets; // result counts per filter value, for searches requesting them
+    
     public static <T> ApiResponse<T> success(int status, String message, T data) {
-        return new ApiResponse<>(status, message, data);
+        return new ApiResponse<>(status, message, data, null, null);
+    }
+    
+    public static <T> ApiResponse<T> success(int status, String message, T data, String nextCursor) {
+        return new ApiResponse<>(status, message, data, nextCursor, null);
+    }
+    
+    public static <T> ApiResponse<T> success(int status, String message, T data, String nextCursor,
+                                             Map<String, Object> facets) {
+        return new ApiResponse<>(status, message, data, nextCursor, facets);
     }
     
     public static <T> ApiResponse<T> error(int status, String error) {
-        return new ApiResponse<>(status, error, null);
+        return new ApiResponse<>(status, error, null, null, null);
     }
 }
@@ -0,0 +1,21 @@
+package payloads.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight result of a typo-tolerant search, answered from memory
+ * 
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FuzzySearchHit {
+    private String type; // "lost" or "found"
+    private Long id;
+    private String title;
+    private String category;
+    private String status;
+    private double score; // 1 when every query word matched exactly
+}
@@ -0,0 +1,25 @@
+package payloads.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Candidate match returned by the matches endpoints, referring to both items by ID
+ * 
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemMatchResponse {
+    private Long id;
+    private Long lostItemId;
+    private Long foundItemId;
+    private double score;
+    private double locationScore;
+    private double dateScore;
+    private double textScore;
+    private Date createdAt;
+}
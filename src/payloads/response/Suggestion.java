@@ -0,0 +1,18 @@
+package payloads.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Search-as-you-type suggestion for an item field
+ * 
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+    private String text;
+    private String field; // "title", "location" or "category"
+    private int count; // number of items with this value
+}
@@ -0,0 +1,17 @@
+package payloads.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lost or found item tagged with its type, for responses mixing both
+ * 
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypedItem {
+    private String type; // "lost" or "found"
+    private Object item;
+}
@@ -0,0 +1,48 @@
+package payloads.response;
+
+import entities.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * User profile returned by the authentication endpoints, without the password hash
+ * 
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserResponse {
+    private Long id;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String phoneNumber;
+    private String address;
+    private boolean isAdmin;
+    private boolean isBanned;
+    private Date createdAt;
+    private Date updatedAt;
+
+    /**
+     * Builds the response from a user entity
+     * 
+     * @param user the user entity
+     * @return the user response
+     */
+    public static UserResponse of(User user) {
+        return new UserResponse(
+                user.getId(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getPhoneNumber(),
+                user.getAddress(),
+                user.isAdmin(),
+                user.isBanned(),
+                user.getCreatedAt(),
+                user.getUpdatedAt());
+    }
+}
@@ -2,19 +2,25 @@ package repositories;
 
 import entities.FoundItem;
 import entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for FoundItem entity
  * 
  */
 @Repository
-public interface FoundItemRepository extends JpaRepository<FoundItem, Long> {
+public interface FoundItemRepository extends JpaRepository<FoundItem, Long>, JpaSpecificationExecutor<FoundItem> {
     
     /**
      * Finds all found items by user
@@ -24,6 +30,19 @@ public interface FoundItemRepository extends JpaRepository<FoundItem, Long> {
      */
     List<FoundItem> findByUser(User user);
     
+    /**
+     * Streams all found items with their users, in id order, fetching rows from the database in batches.
+     * Must be consumed inside a transaction and closed after use.
+     * 
+     * @return Stream of found items
+     */
+    @Query("SELECT f FROM FoundItem f LEFT JOIN FETCH f.user ORDER BY f.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FoundItem> streamAllWithUser();
+    
     /**
      * Finds all found items by status
      * 
@@ -40,6 +59,30 @@ public interface FoundItemRepository extends JpaRepository<FoundItem, Long> {
      */
     List<FoundItem> findByLocationContainingIgnoreCase(String location);
     
+    /**
+     * Finds the distinct locations of found items matching a LIKE pattern (case insensitive),
+     * using the trigram index on lower(location)
+     * 
+     * @param pattern the lowercase LIKE pattern, e.g. "%library%"
+     * @param limit the maximum number of locations to return
+     * @return List of locations, most used first
+     */
+    @Query(value = "SELECT f.location FROM found_items f WHERE lower(f.location) LIKE :pattern " +
+            "GROUP BY f.location ORDER BY count(*) DESC LIMIT :limit", nativeQuery = true)
+    List<String> findLocationsLike(@Param("pattern") String pattern, @Param("limit") int limit);
+    
+    /**
+     * Finds the distinct locations of found items similar to the given text (trigram similarity)
+     * 
+     * @param text the location text to compare with
+     * @param limit the maximum number of locations to return
+     * @return List of locations, most similar first
+     */
+    @Query(value = "SELECT f.location FROM found_items f WHERE lower(f.location) % lower(:text) " +
+            "GROUP BY f.location ORDER BY max(similarity(lower(f.location), lower(:text))) DESC LIMIT :limit",
+            nativeQuery = true)
+    List<String> findSimilarLocations(@Param("text") String text, @Param("limit") int limit);
+    
     /**
      * Finds all found items by category
      * 
@@ -49,14 +92,33 @@ public interface FoundItemRepository extends JpaRepository<FoundItem, Long> {
     List<FoundItem> findByCategory(String category);
     
     /**
-     * Finds all found items by title or description containing the given string (case insensitive)
+     * Finds all found items whose title or description match the keyword (full-text, stemmed)
+     * using the GIN-indexed search_vector column
      * 
-     * @param keyword the keyword to search for in title or description
-     * @return List of found items matching the keyword
+     * @param keyword the search terms, in web search syntax ("quoted phrases", -excluded, or)
+     * @return List of found items matching the keyword, most relevant first
      */
-    @Query("SELECT f FROM FoundItem f WHERE LOWER(f.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(f.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    @Query(value = "SELECT f.* FROM found_items f, websearch_to_tsquery('english', :keyword) q " +
+            "WHERE f.search_vector @@ q " +
+            "ORDER BY ts_rank(f.search_vector, q) DESC, f.id DESC", nativeQuery = true)
     List<FoundItem> searchByKeyword(@Param("keyword") String keyword);
     
+    /**
+     * Finds the found items of a category (case insensitive) within a date range and with one of the given statuses
+     * 
+     * @param category the category to filter by
+     * @param startDate the start date of the range
+     * @param endDate the end date of the range
+     * @param statuses the statuses to filter by
+     * @return List of matching found items
+     */
+    @Query("SELECT f FROM FoundItem f WHERE LOWER(f.category) = LOWER(:category) " +
+            "AND f.foundDate BETWEEN :startDate AND :endDate AND f.status IN :statuses")
+    List<FoundItem> findMatchCandidates(@Param("category") String category,
+                                        @Param("startDate") Date startDate,
+                                        @Param("endDate") Date endDate,
+                                        @Param("statuses") Collection<String> statuses);
+    
     /**
      * Finds all found items by date range
      * 
@@ -66,6 +128,14 @@ public interface FoundItemRepository extends JpaRepository<FoundItem, Long> {
      */
     List<FoundItem> findByFoundDateBetween(Date startDate, Date endDate);
     
+    /**
+     * Counts found items per status, in a single grouped query
+     * 
+     * @return List of [status, count] rows
+     */
+    @Query("SELECT f.status, COUNT(f) FROM FoundItem f GROUP BY f.status")
+    List<Object[]> countGroupedByStatus();
+    
     /**
      * Count found items by status
      * 
@@ -0,0 +1,47 @@
+package repositories;
+
+import entities.ItemClaimRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for ItemClaimRollup entity
+ * 
+ */
+@Repository
+public interface ItemClaimRollupRepository extends JpaRepository<ItemClaimRollup, Long> {
+    
+    /**
+     * Finds the rollups of a date range
+     * 
+     * @param from the first day
+     * @param to the last day
+     * @return List of rollups
+     */
+    List<ItemClaimRollup> findByDayBetween(LocalDate from, LocalDate to);
+    
+    /**
+     * Adds to the claim count of a day, type, category and bucket, creating the row if needed
+     * 
+     * @param day the day the items were claimed
+     * @param itemType "lost" or "found"
+     * @param category the lowercase category
+     * @param bucket the time-to-claim bucket
+     * @param delta the number of claims to add
+     */
+    @Modifying
+    @Query(value = "INSERT INTO item_claim_rollups (day, item_type, category, bucket, claim_count) " +
+            "VALUES (:day, :itemType, :category, :bucket, :delta) " +
+            "ON CONFLICT (day, item_type, category, bucket) " +
+            "DO UPDATE SET claim_count = item_claim_rollups.claim_count + EXCLUDED.claim_count", nativeQuery = true)
+    void addCount(@Param("day") LocalDate day,
+                  @Param("itemType") String itemType,
+                  @Param("category") String category,
+                  @Param("bucket") int bucket,
+                  @Param("delta") long delta);
+}
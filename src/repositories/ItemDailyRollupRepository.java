@@ -0,0 +1,88 @@
+package repositories;
+
+import entities.ItemDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for ItemDailyRollup entity
+ * 
+ */
+@Repository
+public interface ItemDailyRollupRepository extends JpaRepository<ItemDailyRollup, Long> {
+    
+    /**
+     * Finds the rollups of a date range
+     * 
+     * @param from the first day
+     * @param to the last day
+     * @return List of rollups
+     */
+    List<ItemDailyRollup> findByDayBetween(LocalDate from, LocalDate to);
+    
+    /**
+     * Adds to the item count of a day, type, category and status, creating the row if needed
+     * 
+     * @param day the day the items were reported
+     * @param itemType "lost" or "found"
+     * @param category the lowercase category
+     * @param status the item status
+     * @param delta the number of items to add (negative to remove)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO item_daily_rollups (day, item_type, category, status, item_count) " +
+            "VALUES (:day, :itemType, :category, :status, :delta) " +
+            "ON CONFLICT (day, item_type, category, status) " +
+            "DO UPDATE SET item_count = item_daily_rollups.item_count + EXCLUDED.item_count", nativeQuery = true)
+    void addCount(@Param("day") LocalDate day,
+                  @Param("itemType") String itemType,
+                  @Param("category") String category,
+                  @Param("status") String status,
+                  @Param("delta") long delta);
+    
+    /**
+     * Locks the rollups against concurrent writes (upserts wait) until the end of the transaction
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE item_daily_rollups IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRecompute();
+    
+    /**
+     * Deletes the rollups from a day on
+     * 
+     * @param from the first day to delete
+     */
+    @Modifying
+    @Query("DELETE FROM ItemDailyRollup r WHERE r.day >= :from")
+    void deleteFromDay(@Param("from") LocalDate from);
+    
+    /**
+     * Recomputes the rollups from a day on, from the lost and found items, replacing any existing row
+     * 
+     * @param from the first day to recompute
+     */
+    @Modifying
+    @Query(value = "INSERT INTO item_daily_rollups (day, item_type, category, status, item_count) " +
+            "SELECT CAST(created_at AS date), 'lost', lower(trim(category)), status, count(*) FROM lost_items " +
+            "WHERE created_at >= :from GROUP BY CAST(created_at AS date), lower(trim(category)), status " +
+            "UNION ALL " +
+            "SELECT CAST(created_at AS date), 'found', lower(trim(category)), status, count(*) FROM found_items " +
+            "WHERE created_at >= :from GROUP BY CAST(created_at AS date), lower(trim(category)), status " +
+            "ON CONFLICT (day, item_type, category, status) " +
+            "DO UPDATE SET item_count = EXCLUDED.item_count", nativeQuery = true)
+    void insertFromItems(@Param("from") LocalDate from);
+    
+    /**
+     * Deletes the rollups whose items have all been removed or moved to another status
+     * 
+     * @return the number of deleted rollups
+     */
+    @Modifying
+    @Query("DELETE FROM ItemDailyRollup r WHERE r.itemCount = 0")
+    int deleteEmpty();
+}
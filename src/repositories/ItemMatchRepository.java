@@ -0,0 +1,82 @@
+package repositories;
+
+import entities.ItemMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import payloads.response.ItemMatchResponse;
+import java.util.List;
+
+/**
+ * Repository interface for ItemMatch entity
+ * 
+ */
+@Repository
+public interface ItemMatchRepository extends JpaRepository<ItemMatch, Long> {
+    
+    /**
+     * Finds the matches of a lost item
+     * 
+     * @param lostItemId the ID of the lost item
+     * @return List of matches, best first
+     */
+    @Query("SELECT new payloads.response.ItemMatchResponse(m.id, m.lostItem.id, m.foundItem.id, m.score, "
+            + "m.locationScore, m.dateScore, m.textScore, m.createdAt) "
+            + "FROM ItemMatch m WHERE m.lostItem.id = :lostItemId ORDER BY m.score DESC")
+    List<ItemMatchResponse> findLostItemMatches(@Param("lostItemId") Long lostItemId);
+    
+    /**
+     * Finds the matches of a found item
+     * 
+     * @param foundItemId the ID of the found item
+     * @return List of matches, best first
+     */
+    @Query("SELECT new payloads.response.ItemMatchResponse(m.id, m.lostItem.id, m.foundItem.id, m.score, "
+            + "m.locationScore, m.dateScore, m.textScore, m.createdAt) "
+            + "FROM ItemMatch m WHERE m.foundItem.id = :foundItemId ORDER BY m.score DESC")
+    List<ItemMatchResponse> findFoundItemMatches(@Param("foundItemId") Long foundItemId);
+    
+    /**
+     * Deletes the matches of a lost item
+     * 
+     * @param lostItemId the ID of the lost item
+     */
+    @Modifying
+    @Query("DELETE FROM ItemMatch m WHERE m.lostItem.id = :lostItemId")
+    void deleteByLostItemId(@Param("lostItemId") Long lostItemId);
+    
+    /**
+     * Deletes the matches of a found item
+     * 
+     * @param foundItemId the ID of the found item
+     */
+    @Modifying
+    @Query("DELETE FROM ItemMatch m WHERE m.foundItem.id = :foundItemId")
+    void deleteByFoundItemId(@Param("foundItemId") Long foundItemId);
+    
+    /**
+     * Keeps only the best matches of a lost item
+     * 
+     * @param lostItemId the ID of the lost item
+     * @param limit the number of matches to keep
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM item_matches WHERE lost_item_id = :lostItemId AND id NOT IN ("
+            + "SELECT id FROM item_matches WHERE lost_item_id = :lostItemId ORDER BY score DESC, id LIMIT :limit)",
+            nativeQuery = true)
+    void trimLostItemMatches(@Param("lostItemId") Long lostItemId, @Param("limit") int limit);
+    
+    /**
+     * Keeps only the best matches of a found item
+     * 
+     * @param foundItemId the ID of the found item
+     * @param limit the number of matches to keep
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM item_matches WHERE found_item_id = :foundItemId AND id NOT IN ("
+            + "SELECT id FROM item_matches WHERE found_item_id = :foundItemId ORDER BY score DESC, id LIMIT :limit)",
+            nativeQuery = true)
+    void trimFoundItemMatches(@Param("foundItemId") Long foundItemId, @Param("limit") int limit);
+}
@@ -0,0 +1,190 @@
+package repositories;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import payloads.request.ItemSearchRequest;
+import utils.GeoArea;
+import utils.GeoGrid;
+import utils.PageCursor;
+import utils.RankCursor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Specifications shared by the lost and found item repositories
+ * 
+ * Both entities expose the same searchable attributes, except for the
+ * item date (lostDate / foundDate), which is passed in by name.
+ * 
+ */
+public final class ItemSpecifications {
+
+    private ItemSpecifications() {
+    }
+
+    /**
+     * Builds the query of a search: every filter set on the request, or the
+     * active items when no filter is set
+     * 
+     * @param request the search filters
+     * @param dateAttribute the name of the item date attribute ("lostDate" or "foundDate")
+     * @return specification of the search results
+     */
+    public static <T> Specification<T> search(ItemSearchRequest request, String dateAttribute) {
+        return request.hasNoFilters() ? hasStatus("active") : matching(request, dateAttribute);
+    }
+
+    /**
+     * Builds a single query applying every filter set on the search request
+     * 
+     * @param request the search filters
+     * @param dateAttribute the name of the item date attribute ("lostDate" or "foundDate")
+     * @return specification combining all filters with AND
+     */
+    public static <T> Specification<T> matching(ItemSearchRequest request, String dateAttribute) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasText(request.getKeyword())) {
+                Expression<Boolean> match = cb.function("fts_match", Boolean.class,
+                        root.get("searchVector"), cb.literal(request.getKeyword().trim()));
+                predicates.add(cb.isTrue(match));
+            }
+
+            if (hasText(request.getLocation())) {
+                predicates.add(cb.like(cb.lower(root.get("location")),
+                        containsPattern(request.getLocation()), '\\'));
+            }
+
+            if (hasText(request.getCategory())) {
+                predicates.add(cb.equal(cb.lower(root.get("category")),
+                        request.getCategory().trim().toLowerCase(Locale.ROOT)));
+            }
+
+            if (hasText(request.getStatus())) {
+                predicates.add(cb.equal(root.get("status"), request.getStatus().trim().toLowerCase(Locale.ROOT)));
+            }
+
+            if (request.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<Date>get(dateAttribute), request.getStartDate()));
+            }
+
+            if (request.getEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<Date>get(dateAttribute), request.getEndDate()));
+            }
+
+            if (request.getArea() != null) {
+                predicates.add(ItemSpecifications.<T>within(request.getArea()).toPredicate(root, query, cb));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Filters items whose coordinates lie in an area
+     * 
+     * The grid cells overlapping the area are matched first, so only the rows of
+     * nearby cells are read; the bounding box and the distance are then checked exactly.
+     * 
+     * @param area the search area
+     * @return specification matching the items in the area
+     */
+    public static <T> Specification<T> within(GeoArea area) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            Expression<Double> latitude = root.get("latitude");
+            Expression<Double> longitude = root.get("longitude");
+
+            List<Long> cells = GeoGrid.cellsCovering(area);
+            if (cells != null) {
+                predicates.add(root.get("gridCell").in(cells));
+            }
+            predicates.add(cb.between(latitude, area.south(), area.north()));
+            predicates.add(cb.between(longitude, area.west(), area.east()));
+
+            if (area.isCircle()) {
+                // Equirectangular distance, in degrees of latitude
+                Expression<Double> x = cb.prod(cb.diff(longitude, area.longitude()),
+                        GeoArea.longitudeScale(area.latitude()));
+                Expression<Double> y = cb.diff(latitude, area.latitude());
+                Expression<Double> squaredDistance = cb.sum(cb.prod(x, x), cb.prod(y, y));
+                predicates.add(cb.le(squaredDistance, area.radiusDegrees() * area.radiusDegrees()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Filters items by exact status
+     * 
+     * @param status the status to filter by
+     * @return specification matching the status
+     */
+    public static <T> Specification<T> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Seek predicate for keyset pagination over (createdAt, id) descending
+     * 
+     * @param cursor position of the last item of the previous page
+     * @return specification matching the items after the cursor
+     */
+    public static <T> Specification<T> after(PageCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<Date>get("createdAt"), cursor.getCreatedAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.lessThan(root.<Long>get("id"), cursor.getId())));
+    }
+
+    /**
+     * Full-text relevance of an item for a keyword, as ranked by the database
+     * 
+     * @param root the item root
+     * @param cb the criteria builder
+     * @param keyword the search terms
+     * @return expression of the rank, higher for more relevant items
+     */
+    public static <T> Expression<Double> rank(Root<T> root, CriteriaBuilder cb, String keyword) {
+        return cb.function("fts_rank", Double.class, root.get("searchVector"), cb.literal(keyword.trim()));
+    }
+
+    /**
+     * Seek predicate for keyset pagination over (rank, id) descending
+     * 
+     * @param keyword the search terms the results are ranked for
+     * @param cursor position of the last result of the previous page
+     * @return specification matching the results after the cursor
+     */
+    public static <T> Specification<T> rankedAfter(String keyword, RankCursor cursor) {
+        return (root, query, cb) -> {
+            Expression<Double> rank = rank(root, cb, keyword);
+            return cb.or(
+                    cb.lessThan(rank, cursor.getRank()),
+                    cb.and(
+                            cb.equal(rank, cursor.getRank()),
+                            cb.lessThan(root.<Long>get("id"), cursor.getId())));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String containsPattern(String value) {
+        String escaped = value.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -2,19 +2,25 @@ package repositories;
 
 import entities.LostItem;
 import entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for LostItem entity
  * 
  */
 @Repository
-public interface LostItemRepository extends JpaRepository<LostItem, Long> {
+public interface LostItemRepository extends JpaRepository<LostItem, Long>, JpaSpecificationExecutor<LostItem> {
     
     /**
      * Finds all lost items by user
@@ -24,6 +30,19 @@ public interface LostItemRepository extends JpaRepository<LostItem, Long> {
      */
     List<LostItem> findByUser(User user);
     
+    /**
+     * Streams all lost items with their users, in id order, fetching rows from the database in batches.
+     * Must be consumed inside a transaction and closed after use.
+     * 
+     * @return Stream of lost items
+     */
+    @Query("SELECT l FROM LostItem l LEFT JOIN FETCH l.user ORDER BY l.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<LostItem> streamAllWithUser();
+    
     /**
      * Finds all lost items by status
      * 
@@ -40,6 +59,30 @@ public interface LostItemRepository extends JpaRepository<LostItem, Long> {
      */
     List<LostItem> findByLocationContainingIgnoreCase(String location);
     
+    /**
+     * Finds the distinct locations of lost items matching a LIKE pattern (case insensitive),
+     * using the trigram index on lower(location)
+     * 
+     * @param pattern the lowercase LIKE pattern, e.g. "%library%"
+     * @param limit the maximum number of locations to return
+     * @return List of locations, most used first
+     */
+    @Query(value = "SELECT l.location FROM lost_items l WHERE lower(l.location) LIKE :pattern " +
+            "GROUP BY l.location ORDER BY count(*) DESC LIMIT :limit", nativeQuery = true)
+    List<String> findLocationsLike(@Param("pattern") String pattern, @Param("limit") int limit);
+    
+    /**
+     * Finds the distinct locations of lost items similar to the given text (trigram similarity)
+     * 
+     * @param text the location text to compare with
+     * @param limit the maximum number of locations to return
+     * @return List of locations, most similar first
+     */
+    @Query(value = "SELECT l.location FROM lost_items l WHERE lower(l.location) % lower(:text) " +
+            "GROUP BY l.location ORDER BY max(similarity(lower(l.location), lower(:text))) DESC LIMIT :limit",
+            nativeQuery = true)
+    List<String> findSimilarLocations(@Param("text") String text, @Param("limit") int limit);
+    
     /**
      * Finds all lost items by category
      * 
@@ -49,14 +92,33 @@ public interface LostItemRepository extends JpaRepository<LostItem, Long> {
     List<LostItem> findByCategory(String category);
     
     /**
-     * Finds all lost items by title or description containing the given string (case insensitive)
+     * Finds all lost items whose title or description match the keyword (full-text, stemmed)
+     * using the GIN-indexed search_vector column
      * 
-     * @param keyword the keyword to search for in title or description
-     * @return List of lost items matching the keyword
+     * @param keyword the search terms, in web search syntax ("quoted phrases", -excluded, or)
+     * @return List of lost items matching the keyword, most relevant first
      */
-    @Query("SELECT l FROM LostItem l WHERE LOWER(l.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(l.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    @Query(value = "SELECT l.* FROM lost_items l, websearch_to_tsquery('english', :keyword) q " +
+            "WHERE l.search_vector @@ q " +
+            "ORDER BY ts_rank(l.search_vector, q) DESC, l.id DESC", nativeQuery = true)
     List<LostItem> searchByKeyword(@Param("keyword") String keyword);
     
+    /**
+     * Finds the lost items of a category (case insensitive) within a date range and with one of the given statuses
+     * 
+     * @param category the category to filter by
+     * @param startDate the start date of the range
+     * @param endDate the end date of the range
+     * @param statuses the statuses to filter by
+     * @return List of matching lost items
+     */
+    @Query("SELECT l FROM LostItem l WHERE LOWER(l.category) = LOWER(:category) " +
+            "AND l.lostDate BETWEEN :startDate AND :endDate AND l.status IN :statuses")
+    List<LostItem> findMatchCandidates(@Param("category") String category,
+                                      @Param("startDate") Date startDate,
+                                      @Param("endDate") Date endDate,
+                                      @Param("statuses") Collection<String> statuses);
+    
     /**
      * Finds all lost items by date range
      * 
@@ -66,6 +128,14 @@ public interface LostItemRepository extends JpaRepository<LostItem, Long> {
      */
     List<LostItem> findByLostDateBetween(Date startDate, Date endDate);
     
+    /**
+     * Counts lost items per status, in a single grouped query
+     * 
+     * @return List of [status, count] rows
+     */
+    @Query("SELECT l.status, COUNT(l) FROM LostItem l GROUP BY l.status")
+    List<Object[]> countGroupedByStatus();
+    
     /**
      * Counts lost items by status
      * 
@@ -0,0 +1,67 @@
+package repositories;
+
+import entities.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Repository interface for RefreshToken entity
+ * 
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    /**
+     * Finds a refresh token by its hash
+     * 
+     * @param tokenHash the hex SHA-256 of the token
+     * @return Optional containing the token if found
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    
+    /**
+     * Marks a token as used, unless it was already used or revoked
+     * 
+     * @param id the ID of the token
+     * @param now the current time
+     * @return 1 if the token was marked, 0 if another refresh got it first
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.id = :id AND t.usedAt IS NULL AND t.revoked = false")
+    int markUsed(@Param("id") Long id, @Param("now") Date now);
+    
+    /**
+     * Revokes every token of a family (session)
+     * 
+     * @param familyId the family ID
+     * @return the number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId AND t.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+    
+    /**
+     * Revokes every token of a user
+     * 
+     * @param userId the ID of the user
+     * @return the number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.userId = :userId AND t.revoked = false")
+    int revokeByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Deletes the tokens that have expired
+     * 
+     * @param now the current time
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
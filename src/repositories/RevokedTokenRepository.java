@@ -0,0 +1,62 @@
+package repositories;
+
+import entities.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Repository interface for RevokedToken entity
+ * 
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    
+    /**
+     * Records a revoked token, keeping the existing row if it was already revoked
+     * 
+     * @param tokenId the jti claim of the token
+     * @param userId the ID of the token owner
+     * @param expiresAt the expiration of the token
+     * @param revokedAt the revocation time
+     */
+    @Modifying
+    @Query(value = "INSERT INTO revoked_tokens (token_id, user_id, expires_at, revoked_at) " +
+            "VALUES (:tokenId, :userId, :expiresAt, :revokedAt) " +
+            "ON CONFLICT (token_id) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("tokenId") String tokenId,
+                        @Param("userId") Long userId,
+                        @Param("expiresAt") Date expiresAt,
+                        @Param("revokedAt") Date revokedAt);
+    
+    /**
+     * Finds the revoked tokens that have not expired yet
+     * 
+     * @param now the current time
+     * @return List of revoked tokens
+     */
+    List<RevokedToken> findByExpiresAtAfter(Date now);
+    
+    /**
+     * Finds the unexpired tokens revoked after a given time
+     * 
+     * @param revokedAt the exclusive lower bound of the revocation time
+     * @param now the current time
+     * @return List of revoked tokens
+     */
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(Date revokedAt, Date now);
+    
+    /**
+     * Deletes the tokens that have expired
+     * 
+     * @param now the current time
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
@@ -2,7 +2,11 @@ package repositories;
 
 import entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -41,4 +45,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return count of banned users
      */
     long countByIsBannedTrue();
+    
+    /**
+     * Counts banned and not banned users, in a single grouped query
+     * 
+     * @return List of [isBanned, count] rows
+     */
+    @Query("SELECT u.isBanned, COUNT(u) FROM User u GROUP BY u.isBanned")
+    List<Object[]> countGroupedByBanned();
+    
+    /**
+     * Gets the ban status and token cutoff of a user without loading the entity
+     * 
+     * @param id the ID of the user
+     * @return List with one [isBanned, tokensValidAfter] row if the user exists
+     */
+    @Query("SELECT u.isBanned, u.tokensValidAfter FROM User u WHERE u.id = :id")
+    List<Object[]> findStatusById(@Param("id") Long id);
+    
+    /**
+     * Replaces the password hash of a user
+     * 
+     * @param id the ID of the user
+     * @param password the new password hash
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    void updatePassword(@Param("id") Long id, @Param("password") String password);
 }
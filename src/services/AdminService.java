@@ -3,13 +3,18 @@ package services;
 import entities.User;
 import exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import repositories.FoundItemRepository;
 import repositories.LostItemRepository;
 import repositories.UserRepository;
 
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Service for admin operations
@@ -18,6 +23,8 @@ import java.util.Map;
 @Service
 public class AdminService {
 
+    private static final List<String> ITEM_STATUSES = List.of("pending", "active", "claimed", "rejected");
+
     @Autowired
     private UserRepository userRepository;
     
@@ -27,6 +34,36 @@ public class AdminService {
     @Autowired
     private FoundItemRepository foundItemRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private FuzzySearchIndex fuzzySearchIndex;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private AuthRateLimitService authRateLimitService;
+
     /**
      * Updates user ban status
      * 
@@ -39,7 +76,29 @@ public class AdminService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
         user.setBanned(isBanned);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Takes effect on the user's next request instead of after the cache TTL
+        userStatusCache.invalidate(userId);
+        return saved;
+    }
+
+    /**
+     * Revokes every token issued to a user so far, signing them out of all sessions
+     * 
+     * @param userId the ID of the user
+     * @return the updated user
+     */
+    public User revokeUserTokens(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        
+        // Token issue times have second precision, so the cutoff is rounded up to the next second
+        long now = System.currentTimeMillis();
+        user.setTokensValidAfter(new Date((now / 1000 + 1) * 1000));
+        User saved = userRepository.save(user);
+        refreshTokenService.revokeAll(userId);
+        userStatusCache.invalidate(userId);
+        return saved;
     }
 
     /**
@@ -59,15 +118,19 @@ public class AdminService {
             var lostItem = lostItemRepository.findById(itemId)
                     .orElseThrow(() -> new ResourceNotFoundException("Lost item not found with id: " + itemId));
             
+            ItemSnapshot before = ItemSnapshot.of(lostItem);
             lostItem.setStatus(status);
-            lostItemRepository.save(lostItem);
+            lostItem = lostItemRepository.save(lostItem);
+            eventPublisher.publishEvent(ItemChangedEvent.updated(before, ItemSnapshot.of(lostItem)));
             return true;
         } else if (type.equals("found")) {
             var foundItem = foundItemRepository.findById(itemId)
                     .orElseThrow(() -> new ResourceNotFoundException("Found item not found with id: " + itemId));
             
+            ItemSnapshot before = ItemSnapshot.of(foundItem);
             foundItem.setStatus(status);
-            foundItemRepository.save(foundItem);
+            foundItem = foundItemRepository.save(foundItem);
+            eventPublisher.publishEvent(ItemChangedEvent.updated(before, ItemSnapshot.of(foundItem)));
             return true;
         }
         
@@ -77,47 +140,74 @@ public class AdminService {
     /**
      * Gets system reports
      * 
+     * Counts come from one grouped query per table, so a new item status
+     * shows up in the by_status maps without another query.
+     * 
      * @return map of system statistics
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getSystemReports() {
         Map<String, Object> reports = new HashMap<>();
         
         // User statistics
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByIsBannedFalse();
-        long bannedUsers = userRepository.countByIsBannedTrue();
-        
-        // Lost item statistics
-        long totalLostItems = lostItemRepository.count();
-        long claimedLostItems = lostItemRepository.countByStatus("claimed");
-        long activeLostItems = lostItemRepository.countByStatus("active");
-        long pendingLostItems = lostItemRepository.countByStatus("pending");
-        long rejectedLostItems = lostItemRepository.countByStatus("rejected");
-        
-        // Found item statistics
-        long totalFoundItems = foundItemRepository.count();
-        long claimedFoundItems = foundItemRepository.countByStatus("claimed");
-        long activeFoundItems = foundItemRepository.countByStatus("active");
-        long pendingFoundItems = foundItemRepository.countByStatus("pending");
-        long rejectedFoundItems = foundItemRepository.countByStatus("rejected");
+        long activeUsers = 0;
+        long bannedUsers = 0;
+        for (Object[] row : userRepository.countGroupedByBanned()) {
+            if ((Boolean) row[0]) {
+                bannedUsers = (Long) row[1];
+            } else {
+                activeUsers = (Long) row[1];
+            }
+        }
         
-        // Add to reports map
-        reports.put("total_users", totalUsers);
+        reports.put("total_users", activeUsers + bannedUsers);
         reports.put("active_users", activeUsers);
         reports.put("banned_users", bannedUsers);
         
-        reports.put("total_lost_items", totalLostItems);
-        reports.put("claimed_lost_items", claimedLostItems);
-        reports.put("active_lost_items", activeLostItems);
-        reports.put("pending_lost_items", pendingLostItems);
-        reports.put("rejected_lost_items", rejectedLostItems);
-        
-        reports.put("total_found_items", totalFoundItems);
-        reports.put("claimed_found_items", claimedFoundItems);
-        reports.put("active_found_items", activeFoundItems);
-        reports.put("pending_found_items", pendingFoundItems);
-        reports.put("rejected_found_items", rejectedFoundItems);
+        // Item statistics, with a key per status found in the table
+        putStatusCounts(reports, "lost_items", lostItemRepository.countGroupedByStatus());
+        putStatusCounts(reports, "found_items", foundItemRepository.countGroupedByStatus());
         
         return reports;
     }
+
+    private void putStatusCounts(Map<String, Object> reports, String suffix, List<Object[]> rows) {
+        // Statuses are free text, so they are nested rather than mixed with the total keys;
+        // the known ones are also reported at the top level, even when no item has them
+        Map<String, Long> byStatus = new TreeMap<>();
+        for (String status : ITEM_STATUSES) {
+            byStatus.put(status, 0L);
+        }
+        
+        long total = 0;
+        for (Object[] row : rows) {
+            long count = (Long) row[1];
+            byStatus.put(row[0] == null ? "unknown" : (String) row[0], count);
+            total += count;
+        }
+        
+        for (String status : ITEM_STATUSES) {
+            reports.put(status + "_" + suffix, byStatus.get(status));
+        }
+        reports.put(suffix + "_by_status", byStatus);
+        reports.put("total_" + suffix, total);
+    }
+
+    /**
+     * Gets runtime metrics of the in-process caches
+     * 
+     * @return map of metrics per component
+     */
+    public Map<String, Object> getRuntimeMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("search_cache", searchResultCache.getStats());
+        metrics.put("fuzzy_index", fuzzySearchIndex.getStats());
+        metrics.put("suggestion_index", suggestionIndex.getStats());
+        metrics.put("dashboard_stream", dashboardStreamService.getStats());
+        metrics.put("user_status_cache", userStatusCache.getStats());
+        metrics.put("token_revocation", tokenRevocationService.getStats());
+        metrics.put("password_hashing", authService.getPasswordHashingStats());
+        metrics.put("auth_rate_limit", authRateLimitService.getStats());
+        return metrics;
+    }
 }
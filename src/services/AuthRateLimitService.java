@@ -0,0 +1,110 @@
+package services;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import utils.RateLimiter;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service throttling the authentication endpoints per client address and per account
+ * 
+ * Every attempt is charged to the client address, and signin/signup attempts also to
+ * the email they name, so credential stuffing is slowed down both from one address
+ * and across many addresses against one account, before any password is hashed.
+ * 
+ */
+@Service
+public class AuthRateLimitService {
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByAddress = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    private RateLimiter addressLimiter;
+    private RateLimiter emailLimiter;
+
+    @Value("${auth.rate-limit.ip.per-minute:30}")
+    private int addressPerMinute;
+
+    @Value("${auth.rate-limit.ip.burst:10}")
+    private int addressBurst;
+
+    @Value("${auth.rate-limit.email.per-minute:5}")
+    private int emailPerMinute;
+
+    @Value("${auth.rate-limit.email.burst:5}")
+    private int emailBurst;
+
+    @Value("${auth.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @PostConstruct
+    void init() {
+        // A client rotating addresses must not lock out new clients, but one rotating emails
+        // must not get unlimited guesses against any account
+        addressLimiter = new RateLimiter(addressPerMinute, addressBurst, maxKeys, true);
+        emailLimiter = new RateLimiter(emailPerMinute, emailBurst, maxKeys, false);
+    }
+
+    /**
+     * Records an authentication attempt if the limits allow it
+     * 
+     * @param address the client address
+     * @param email the email the attempt names, or null
+     * @return 0 if the attempt is allowed, otherwise the milliseconds to wait before retrying
+     */
+    public long tryAcquire(String address, String email) {
+        long wait = addressLimiter.tryAcquire(address);
+        if (wait > 0) {
+            rejectedByAddress.increment();
+            return toMillis(wait);
+        }
+
+        if (email != null) {
+            wait = emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+            if (wait > 0) {
+                rejectedByEmail.increment();
+                return toMillis(wait);
+            }
+        }
+
+        allowed.increment();
+        return 0;
+    }
+
+    /**
+     * Drops the addresses and accounts that have been idle long enough to be at full burst again
+     */
+    @Scheduled(fixedDelayString = "${auth.rate-limit.eviction-interval-ms:30000}")
+    public void evictIdle() {
+        evicted.add(addressLimiter.evictIdle() + emailLimiter.evictIdle());
+    }
+
+    /**
+     * Gets the rate limiting statistics
+     * 
+     * @return map of statistic name to value
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("allowed", allowed.sum());
+        stats.put("rejected_ip", rejectedByAddress.sum());
+        stats.put("rejected_email", rejectedByEmail.sum());
+        stats.put("tracked_ips", addressLimiter.size());
+        stats.put("tracked_emails", emailLimiter.size());
+        stats.put("max_keys", maxKeys);
+        stats.put("evicted", evicted.sum());
+        return stats;
+    }
+
+    private static long toMillis(long nanos) {
+        return Math.max(1, (nanos + 999_999) / 1_000_000);
+    }
+}
@@ -1,22 +1,31 @@
 package services;
 
 import entities.User;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import payloads.request.LoginRequest;
 import payloads.request.SignupRequest;
+import payloads.response.UserResponse;
 import repositories.UserRepository;
+import utils.JwtClaims;
 import utils.JwtUtils;
 import utils.UserDetailsImpl;
 
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 /**
  * Authentication Service for the Lost and Found application
@@ -37,18 +46,50 @@ public class AuthService {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ThreadPoolExecutor passwordHashingExecutor;
+
+    // Named by V12__users_email_constraint_name.sql
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    /**
+     * Registers a new user on the password hashing executor
+     * 
+     * @param request the signup request
+     * @return future of the created user
+     * @throws RejectedExecutionException if the password hashing executor is saturated
+     */
+    public CompletableFuture<UserResponse> registerUserAsync(SignupRequest request) {
+        return submit(() -> registerUser(request));
+    }
+
+    /**
+     * Authenticates a user on the password hashing executor
+     * 
+     * @param request the login request
+     * @return future of the map containing JWT token and user details
+     * @throws RejectedExecutionException if the password hashing executor is saturated
+     */
+    public CompletableFuture<Map<String, Object>> authenticateUserAsync(LoginRequest request) {
+        return submit(() -> authenticateUser(request));
+    }
+
     /**
      * Registers a new user
      * 
      * @param request the signup request
      * @return the created user
      */
-    public User registerUser(SignupRequest request) {
-        // Checks if email already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email is already in use");
-        }
-
+    public UserResponse registerUser(SignupRequest request) {
         // Creates new user
         User user = new User();
         user.setEmail(request.getEmail());
@@ -62,7 +103,24 @@ public class AuthService {
         user.setCreatedAt(new Date());
         user.setUpdatedAt(new Date());
 
-        return userRepository.save(user);
+        // A single insert; the unique constraint on email rejects duplicates, including concurrent signups
+        try {
+            return UserResponse.of(userRepository.save(user));
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, EMAIL_CONSTRAINT)) {
+                throw new IllegalArgumentException("Email is already in use");
+            }
+            throw e;
+        }
+    }
+
+    private boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return constraint.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
     }
 
     /**
@@ -74,17 +132,82 @@ public class AuthService {
     public Map<String, Object> authenticateUser(LoginRequest request) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
         
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        User user = userRepository.findById(userDetails.getId()).orElseThrow();
+        RefreshTokenService.IssuedToken refreshToken = refreshTokenService.issue(userDetails.getId());
+        String jwt = jwtUtils.generateJwtToken(userDetails, refreshToken.familyId());
 
+        // The profile was loaded along with the credentials, so signing in reads the user once
+        Map<String, Object> response = tokenResponse(jwt, refreshToken);
+        response.put("user", userDetails.getUser());
+        
+        return response;
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token
+     * 
+     * @param token the refresh token
+     * @return map containing the new tokens
+     */
+    public Map<String, Object> refreshToken(String token) {
+        RefreshTokenService.IssuedToken refreshToken = refreshTokenService.rotate(token)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+
+        // The user is loaded on refresh only, so a ban or role change applies by the next refresh at the latest
+        User user = userRepository.findById(refreshToken.userId()).orElse(null);
+        if (user == null || user.isBanned()) {
+            refreshTokenService.revokeFamily(refreshToken.familyId());
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        String jwt = jwtUtils.generateJwtToken(UserDetailsImpl.build(user), refreshToken.familyId());
+        return tokenResponse(jwt, refreshToken);
+    }
+
+    /**
+     * Signs out the session of a token by revoking the token until it expires, along with its refresh token
+     * 
+     * @param claims the claims of the token to revoke
+     */
+    public void logout(JwtClaims claims) {
+        tokenRevocationService.revoke(claims);
+        if (claims.getSessionId() != null) {
+            refreshTokenService.revokeFamily(claims.getSessionId());
+        }
+    }
+
+    /**
+     * Gets the password hashing executor statistics
+     * 
+     * @return map of statistic name to value
+     */
+    public Map<String, Object> getPasswordHashingStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("threads", passwordHashingExecutor.getPoolSize());
+        stats.put("active", passwordHashingExecutor.getActiveCount());
+        stats.put("queued", passwordHashingExecutor.getQueue().size());
+        stats.put("queue_capacity", passwordHashingExecutor.getQueue().size()
+                + passwordHashingExecutor.getQueue().remainingCapacity());
+        stats.put("completed", passwordHashingExecutor.getCompletedTaskCount());
+        stats.put("rejected", rejectedTasks.sum());
+        return stats;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            rejectedTasks.increment();
+            throw e;
+        }
+    }
+
+    private Map<String, Object> tokenResponse(String jwt, RefreshTokenService.IssuedToken refreshToken) {
         Map<String, Object> response = new HashMap<>();
         response.put("token", jwt);
-        response.put("user", user);
-        
+        response.put("expiresIn", jwtUtils.getExpirationMs() / 1000);
+        response.put("refreshToken", refreshToken.token());
         return response;
     }
 }
@@ -0,0 +1,248 @@
+package services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service pushing live dashboard events to admin clients over Server-Sent Events
+ * 
+ * Item writes only mark the statistics as changed; a periodic tick computes them once
+ * and fans the changed counters out to every subscriber, however many writes happened.
+ * New pending items are pushed as they are created. Each subscriber has a bounded
+ * queue drained on its own virtual thread: a slow client that falls behind has its
+ * queue dropped and receives a "resync" event, without slowing the others down.
+ * 
+ * Events: "stats" (all counters on connect, then the changed ones), "pending_item",
+ * "resync" (reload the dashboard) and heartbeat comments.
+ * 
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    @Autowired
+    private ItemStatistics itemStatistics;
+
+    @Autowired
+    @Qualifier("dashboardStreamExecutor")
+    private ExecutorService dashboardStreamExecutor;
+
+    @Value("${dashboard.stream.max-subscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${dashboard.stream.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final AtomicBoolean statsChanged = new AtomicBoolean();
+
+    private volatile Map<String, Object> lastStats = Map.of();
+
+    private final LongAdder sentEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    /**
+     * Opens a new event stream, starting with the current statistics
+     * 
+     * @return the emitter of the stream
+     * @throws IllegalStateException if too many streams are open
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many open dashboard streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        subscriber.offer(SseEmitter.event().name("stats").data(flatten(itemStatistics.getStats())).build());
+        return emitter;
+    }
+
+    /**
+     * Records an item write: statistics are marked as changed and new pending items are pushed
+     * 
+     * @param event the item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        statsChanged.set(true);
+
+        ItemSnapshot after = event.getAfter();
+        boolean newPending = after != null && "pending".equals(after.getStatus())
+                && (event.getBefore() == null || !"pending".equals(event.getBefore().getStatus()));
+        if (newPending && !subscribers.isEmpty()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("type", after.getType());
+            item.put("id", after.getId());
+            item.put("title", after.getTitle());
+            item.put("category", after.getCategory());
+            item.put("location", after.getLocation());
+            item.put("createdAt", after.getCreatedAt());
+            broadcast(SseEmitter.event().name("pending_item").data(item));
+        }
+    }
+
+    /**
+     * Pushes the statistics that changed since the last tick, once for all subscribers
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.stats-interval-ms:1000}")
+    public void publishStats() {
+        if (subscribers.isEmpty() || !statsChanged.getAndSet(false)) {
+            return;
+        }
+
+        Map<String, Object> stats = flatten(itemStatistics.getStats());
+        Map<String, Object> changed = new LinkedHashMap<>();
+        Map<String, Object> previous = lastStats;
+        stats.forEach((key, value) -> {
+            if (!Objects.equals(previous.get(key), value)) {
+                changed.put(key, value);
+            }
+        });
+        previous.keySet().stream()
+                .filter(key -> !stats.containsKey(key))
+                .forEach(key -> changed.put(key, 0L));
+        lastStats = stats;
+
+        if (!changed.isEmpty()) {
+            broadcast(SseEmitter.event().name("stats").data(changed));
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber, so dead connections are detected and proxies keep them open
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            broadcast(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    /**
+     * Gets the number of open streams and delivered/dropped events
+     * 
+     * @return map of statistic name to value
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "subscribers", subscribers.size(),
+            "sent_events", sentEvents.sum(),
+            "dropped_events", droppedEvents.sum()
+        );
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder builder) {
+        // Built once: the same event data is queued for every subscriber
+        Set<DataWithMediaType> event = builder.build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    // Nested maps become dotted keys, e.g. "lost_items_by_status.active"
+    private static Map<String, Object> flatten(Map<String, Object> stats) {
+        Map<String, Object> flat = new HashMap<>();
+        stats.forEach((key, value) -> {
+            if (value instanceof Map<?, ?> nested) {
+                nested.forEach((nestedKey, nestedValue) -> flat.put(key + "." + nestedKey, nestedValue));
+            } else {
+                flat.put(key, value);
+            }
+        });
+        return flat;
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean overflowed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            synchronized (this) {
+                if (queue.size() >= queueCapacity) {
+                    // The client cannot keep up: drop its backlog and ask it to reload
+                    droppedEvents.add(queue.size() + 1);
+                    queue.clear();
+                    overflowed = true;
+                    return;
+                }
+                queue.add(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            dashboardStreamExecutor.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> event;
+                synchronized (this) {
+                    if (overflowed) {
+                        overflowed = false;
+                        event = SseEmitter.event().name("resync").data("").build();
+                    } else {
+                        event = queue.poll();
+                    }
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+
+                try {
+                    emitter.send(event);
+                    sentEvents.increment();
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Dashboard stream closed: {}", e.getMessage());
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    synchronized (this) {
+                        queue.clear();
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
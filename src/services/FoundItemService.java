@@ -4,10 +4,18 @@ import entities.FoundItem;
 import entities.User;
 import exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import payloads.request.ItemSearchRequest;
+import payloads.response.CursorPage;
+import repositories.ItemSpecifications;
 import repositories.FoundItemRepository;
 import repositories.UserRepository;
-import utils.JwtUtils;
+import utils.CursorPagination;
+import utils.GeoGrid;
+import utils.JwtClaims;
+import utils.Ranked;
 
 import java.util.Date;
 import java.util.List;
@@ -26,25 +34,36 @@ public class FoundItemService {
     private UserRepository userRepository;
 
     @Autowired
-    private JwtUtils jwtUtils;
+    private CursorPagination cursorPagination;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
 
     /**
      * Creates a new found item
      * 
      * @param foundItem the found item to create
-     * @param token the JWT token
+     * @param claims the verified JWT claims of the current user
      * @return the created found item
      */
-    public FoundItem createFoundItem(FoundItem foundItem, String token) {
-        Long userId = jwtUtils.getUserIdFromJwtToken(token);
+    public FoundItem createFoundItem(FoundItem foundItem, JwtClaims claims) {
+        Long userId = claims.getUserId();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
+        GeoGrid.checkCoordinates(foundItem.getLatitude(), foundItem.getLongitude());
+        
         foundItem.setUser(user);
         foundItem.setCreatedAt(new Date());
         foundItem.setUpdatedAt(new Date());
         
-        return foundItemRepository.save(foundItem);
+        FoundItem createdFoundItem = foundItemRepository.save(foundItem);
+        eventPublisher.publishEvent(ItemChangedEvent.created(ItemSnapshot.of(createdFoundItem)));
+        
+        return createdFoundItem;
     }
 
     /**
@@ -56,6 +75,21 @@ public class FoundItemService {
         return foundItemRepository.findAll();
     }
 
+    /**
+     * Gets one page of found items, newest first
+     * 
+     * Pages are served from the search result cache when possible.
+     * 
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the page size, or null for the default
+     * @return page of found items
+     */
+    public CursorPage<FoundItem> getFoundItems(String cursor, Integer limit) {
+        int pageSize = cursorPagination.resolveLimit(limit);
+        return searchResultCache.get("found", null, cursor, pageSize,
+                () -> cursorPagination.fetch(foundItemRepository, Specification.where(null), cursor, pageSize));
+    }
+
     /**
      * Gets a found item by ID
      * 
@@ -72,12 +106,12 @@ public class FoundItemService {
      * 
      * @param id the ID of the found item to update
      * @param foundItemDetails the updated found item details
-     * @param token the JWT token
+     * @param claims the verified JWT claims of the current user
      * @return the updated found item
      */
-    public FoundItem updateFoundItem(Long id, FoundItem foundItemDetails, String token) {
-        Long userId = jwtUtils.getUserIdFromJwtToken(token);
-        boolean isAdmin = jwtUtils.isAdminFromJwtToken(token);
+    public FoundItem updateFoundItem(Long id, FoundItem foundItemDetails, JwtClaims claims) {
+        Long userId = claims.getUserId();
+        boolean isAdmin = claims.isAdmin();
         
         FoundItem foundItem = foundItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Found item not found with id: " + id));
@@ -87,6 +121,8 @@ public class FoundItemService {
             throw new IllegalArgumentException("You are not authorized to update this found item");
         }
         
+        ItemSnapshot before = ItemSnapshot.of(foundItem);
+        
         // Update fields if provided
         if (foundItemDetails.getTitle() != null) {
             foundItem.setTitle(foundItemDetails.getTitle());
@@ -104,6 +140,12 @@ public class FoundItemService {
             foundItem.setLocation(foundItemDetails.getLocation());
         }
         
+        if (foundItemDetails.getLatitude() != null || foundItemDetails.getLongitude() != null) {
+            GeoGrid.checkCoordinates(foundItemDetails.getLatitude(), foundItemDetails.getLongitude());
+            foundItem.setLatitude(foundItemDetails.getLatitude());
+            foundItem.setLongitude(foundItemDetails.getLongitude());
+        }
+        
         if (foundItemDetails.getImageUrl() != null) {
             foundItem.setImageUrl(foundItemDetails.getImageUrl());
         }
@@ -122,18 +164,21 @@ public class FoundItemService {
         
         foundItem.setUpdatedAt(new Date());
         
-        return foundItemRepository.save(foundItem);
+        FoundItem updatedFoundItem = foundItemRepository.save(foundItem);
+        eventPublisher.publishEvent(ItemChangedEvent.updated(before, ItemSnapshot.of(updatedFoundItem)));
+        
+        return updatedFoundItem;
     }
 
     /**
      * Deletes a found item
      * 
      * @param id the ID of the found item to delete
-     * @param token the JWT token
+     * @param claims the verified JWT claims of the current user
      */
-    public void deleteFoundItem(Long id, String token) {
-        Long userId = jwtUtils.getUserIdFromJwtToken(token);
-        boolean isAdmin = jwtUtils.isAdminFromJwtToken(token);
+    public void deleteFoundItem(Long id, JwtClaims claims) {
+        Long userId = claims.getUserId();
+        boolean isAdmin = claims.isAdmin();
         
         FoundItem foundItem = foundItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Found item not found with id: " + id));
@@ -144,39 +189,48 @@ public class FoundItemService {
         }
         
         foundItemRepository.delete(foundItem);
+        eventPublisher.publishEvent(ItemChangedEvent.deleted(ItemSnapshot.of(foundItem)));
     }
 
     /**
-     * Searches for found items
+     * Searches for found items, newest first, or most relevant first with a keyword
+     * 
+     * All filters set on the request are applied together in a single query.
+     * With no filters at all, the active found items are returned.
+     * Pages are served from the search result cache when possible.
      * 
-     * @param keyword the keyword to search for
-     * @param location the location to search in
-     * @param startDate the start date of the range
-     * @param endDate the end date of the range
-     * @return list of matching found items
+     * @param request the search filters
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the page size, or null for the default
+     * @return page of matching found items
      */
-    public List<FoundItem> searchFoundItems(String keyword, String location, Date startDate, Date endDate) {
-        // If all parameters are null, return all found items with status "active"
-        if (keyword == null && location == null && startDate == null && endDate == null) {
-            return foundItemRepository.findByStatus("active");
-        }
-        
-        // If only location is provided
-        if (keyword == null && location != null && startDate == null && endDate == null) {
-            return foundItemRepository.findByLocationContainingIgnoreCase(location);
-        }
-        
-        // If only keyword is provided
-        if (keyword != null && location == null && startDate == null && endDate == null) {
-            return foundItemRepository.searchByKeyword(keyword);
-        }
-        
-        // If only date range is provided
-        if (keyword == null && location == null && startDate != null && endDate != null) {
-            return foundItemRepository.findByFoundDateBetween(startDate, endDate);
+    public CursorPage<FoundItem> searchFoundItems(ItemSearchRequest request, String cursor, Integer limit) {
+        if (request.hasKeyword()) {
+            CursorPage<Ranked<FoundItem>> page = searchFoundItemsByRelevance(request, cursor, limit);
+            return new CursorPage<>(page.getItems().stream().map(Ranked::item).toList(), page.getNextCursor());
         }
+
+        // If no filter is set, return found items with status "active"
+        Specification<FoundItem> specification = ItemSpecifications.search(request, "foundDate");
         
-        // Fallback to returning all active found items
-        return foundItemRepository.findByStatus("active");
+        int pageSize = cursorPagination.resolveLimit(limit);
+        return searchResultCache.get("found", request, cursor, pageSize,
+                () -> cursorPagination.fetch(foundItemRepository, specification, cursor, pageSize));
+    }
+
+    /**
+     * Searches for found items matching a keyword, most relevant first
+     * 
+     * @param request the search filters, with a keyword
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the page size, or null for the default
+     * @return page of matching found items with their rank
+     */
+    public CursorPage<Ranked<FoundItem>> searchFoundItemsByRelevance(ItemSearchRequest request, String cursor, Integer limit) {
+        Specification<FoundItem> specification = ItemSpecifications.matching(request, "foundDate");
+
+        int pageSize = cursorPagination.resolveLimit(limit);
+        return searchResultCache.get("found", request, cursor, pageSize,
+                () -> cursorPagination.fetchByRelevance(FoundItem.class, specification, request.getKeyword(), cursor, pageSize));
     }
 }
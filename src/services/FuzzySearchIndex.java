@@ -0,0 +1,333 @@
+package services;
+
+import entities.FoundItem;
+import entities.LostItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import payloads.response.FuzzySearchHit;
+import repositories.FoundItemRepository;
+import repositories.LostItemRepository;
+import utils.TextSimilarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory n-gram index over item titles and categories, for typo-tolerant search
+ * 
+ * Every distinct word gets a term id. Each term keeps a sorted long[] posting list of
+ * item keys (id * 2, plus 1 for found items), and each trigram keeps the ids of the
+ * terms containing it. A query word is compared only with the terms sharing enough of
+ * its trigrams, and those are verified with an edit distance, so queries never touch
+ * the database.
+ * 
+ * The index is rebuilt from the repositories at startup and kept current by item
+ * change events. Terms are never removed; an item's old terms just lose its key.
+ * 
+ */
+@Component
+public class FuzzySearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FuzzySearchIndex.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private LostItemRepository lostItemRepository;
+
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<LongPostings> termPostings = new ArrayList<>();
+    private final Map<String, IntPostings> trigramTerms = new HashMap<>();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+
+    // Keys written by events while the startup rebuild runs; the rebuild must not overwrite them
+    private Set<Long> changedDuringRebuild;
+
+    /**
+     * Searches item titles and categories, tolerating typos
+     * 
+     * @param query the words to search for
+     * @param type the type of items (lost/found), or null for both
+     * @param status the status of items to return
+     * @param limit the maximum number of hits
+     * @return hits, best first
+     */
+    public List<FuzzySearchHit> search(String query, String type, String status, int limit) {
+        Set<String> words = TextSimilarity.words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String word : words) {
+                for (Map.Entry<Long, Double> match : matchWord(word).entrySet()) {
+                    scores.merge(match.getKey(), match.getValue(), Double::sum);
+                }
+            }
+
+            List<FuzzySearchHit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                long key = entry.getKey();
+                String itemType = (key & 1) == 0 ? "lost" : "found";
+                IndexedItem item = items.get(key);
+                if ((type != null && !type.equalsIgnoreCase(itemType)) || !status.equals(item.status())) {
+                    continue;
+                }
+                double score = Math.round(entry.getValue() / words.size() * 1000) / 1000.0;
+                hits.add(new FuzzySearchHit(itemType, key >> 1, item.title(), item.category(), item.status(), score));
+            }
+
+            hits.sort(Comparator.comparingDouble(FuzzySearchHit::getScore).reversed()
+                    .thenComparing(FuzzySearchHit::getId, Comparator.reverseOrder()));
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed items and distinct terms
+     * 
+     * @return map of statistic name to value
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            return Map.of("items", items.size(), "terms", terms.size(), "trigrams", trigramTerms.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the repositories once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            rebuildFrom(lostItemRepository.streamAllWithUser(), "lost");
+            rebuildFrom(foundItemRepository.streamAllWithUser(), "found");
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        logger.info("Fuzzy search index built: {}", getStats());
+    }
+
+    /**
+     * Updates the index after an item has been written
+     * 
+     * @param event the item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        long key = key(event.getType(), event.getItemId());
+
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(key);
+            }
+            remove(key);
+            if (event.getAction() != ItemChangedEvent.Action.DELETED) {
+                ItemSnapshot after = event.getAfter();
+                add(key, after.getTitle(), after.getCategory(), after.getStatus());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildFrom(Stream<?> entities, String type) {
+        try (entities) {
+            Iterator<?> iterator = entities.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                ItemSnapshot item = type.equals("lost")
+                        ? ItemSnapshot.of((LostItem) iterator.next())
+                        : ItemSnapshot.of((FoundItem) iterator.next());
+                long key = key(type, item.getId());
+
+                lock.writeLock().lock();
+                try {
+                    if (!changedDuringRebuild.contains(key)) {
+                        remove(key);
+                        add(key, item.getTitle(), item.getCategory(), item.getStatus());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                if (++count % REBUILD_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    // Finds the items containing a term close to the word, with the similarity of the closest term
+    private Map<Long, Double> matchWord(String word) {
+        int maxDistance = word.length() <= 2 ? 0 : word.length() <= 4 ? 1 : 2;
+        Set<String> wordTrigrams = TextSimilarity.trigrams(word);
+
+        // Each edit changes at most 3 trigrams
+        int minShared = Math.max(1, wordTrigrams.size() - 3 * maxDistance);
+        int[] shared = new int[terms.size()];
+        for (String trigram : wordTrigrams) {
+            IntPostings postings = trigramTerms.get(trigram);
+            if (postings != null) {
+                for (int i = 0; i < postings.size; i++) {
+                    shared[postings.values[i]]++;
+                }
+            }
+        }
+
+        Map<Long, Double> matches = new HashMap<>();
+        for (int termId = 0; termId < shared.length; termId++) {
+            if (shared[termId] < minShared || termPostings.get(termId).size == 0) {
+                continue;
+            }
+            String term = terms.get(termId);
+            int distance = TextSimilarity.editDistance(word, term, maxDistance);
+            if (distance > maxDistance) {
+                continue;
+            }
+
+            double similarity = 1 - (double) distance / Math.max(word.length(), term.length());
+            LongPostings postings = termPostings.get(termId);
+            for (int i = 0; i < postings.size; i++) {
+                matches.merge(postings.values[i], similarity, Math::max);
+            }
+        }
+        return matches;
+    }
+
+    private void add(long key, String title, String category, String status) {
+        Set<String> words = TextSimilarity.words(title);
+        words.addAll(TextSimilarity.words(category));
+
+        int[] itemTerms = new int[words.size()];
+        int i = 0;
+        for (String word : words) {
+            int termId = termId(word);
+            termPostings.get(termId).add(key);
+            itemTerms[i++] = termId;
+        }
+        items.put(key, new IndexedItem(title, category, status, itemTerms));
+    }
+
+    private void remove(long key) {
+        IndexedItem item = items.remove(key);
+        if (item != null) {
+            for (int termId : item.termIds()) {
+                termPostings.get(termId).remove(key);
+            }
+        }
+    }
+
+    private int termId(String term) {
+        Integer termId = termIds.get(term);
+        if (termId != null) {
+            return termId;
+        }
+
+        int newId = terms.size();
+        termIds.put(term, newId);
+        terms.add(term);
+        termPostings.add(new LongPostings());
+        for (String trigram : TextSimilarity.trigrams(term)) {
+            trigramTerms.computeIfAbsent(trigram, t -> new IntPostings()).add(newId);
+        }
+        return newId;
+    }
+
+    private static long key(String type, long id) {
+        return id * 2 + (type.equals("found") ? 1 : 0);
+    }
+
+    private record IndexedItem(String title, String category, String status, int[] termIds) {
+    }
+
+    // Sorted set of item keys
+    private static class LongPostings {
+        private long[] values = new long[2];
+        private int size;
+
+        void add(long value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+        }
+
+        void remove(long value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+
+    // Append-only list of term ids
+    private static class IntPostings {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package services;
+
+import lombok.Value;
+
+/**
+ * Application event published by the item services after a lost or found item is written
+ * 
+ * Listeners should use @TransactionalEventListener(fallbackExecution = true), so they
+ * run after commit when the write is part of a transaction.
+ * 
+ */
+@Value
+public class ItemChangedEvent {
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    Action action;
+    ItemSnapshot before; // null when created
+    ItemSnapshot after;  // null when deleted
+
+    public static ItemChangedEvent created(ItemSnapshot after) {
+        return new ItemChangedEvent(Action.CREATED, null, after);
+    }
+
+    public static ItemChangedEvent updated(ItemSnapshot before, ItemSnapshot after) {
+        return new ItemChangedEvent(Action.UPDATED, before, after);
+    }
+
+    public static ItemChangedEvent deleted(ItemSnapshot before) {
+        return new ItemChangedEvent(Action.DELETED, before, null);
+    }
+
+    /**
+     * Gets the type of the changed item
+     * 
+     * @return "lost" or "found"
+     */
+    public String getType() {
+        return after != null ? after.getType() : before.getType();
+    }
+
+    /**
+     * Gets the ID of the changed item
+     * 
+     * @return the item ID
+     */
+    public Long getItemId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
@@ -0,0 +1,88 @@
+package services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import entities.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import payloads.response.TypedItem;
+import repositories.FoundItemRepository;
+import repositories.LostItemRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service exporting items as NDJSON (one JSON object per line)
+ * 
+ * Rows are streamed from a database cursor and written as they arrive, and the
+ * persistence context is cleared every batch, so memory use does not grow with
+ * the size of the tables.
+ * 
+ */
+@Service
+public class ItemExportService {
+
+    private static final int BATCH_SIZE = 500; // matches the fetch size of the streaming queries
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    @Autowired
+    private LostItemRepository lostItemRepository;
+
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Writes all items of the given type to the output stream, one {"type", "item"} object per line
+     * 
+     * @param type the type of items to export (lost/found), or null for both
+     * @param out the stream to write to
+     * @return the number of exported items
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long exportItems(String type, OutputStream out) throws IOException {
+        long count = 0;
+
+        if (type == null || type.equalsIgnoreCase("lost")) {
+            count += writeItems("lost", lostItemRepository.streamAllWithUser(), out);
+        }
+        if (type == null || type.equalsIgnoreCase("found")) {
+            count += writeItems("found", foundItemRepository.streamAllWithUser(), out);
+        }
+
+        out.flush();
+        return count;
+    }
+
+    private long writeItems(String type, Stream<? extends Item> items, OutputStream out) throws IOException {
+        long count = 0;
+
+        try (items) {
+            Iterator<? extends Item> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(new TypedItem(type, iterator.next())));
+                out.write(NEWLINE);
+
+                if (++count % BATCH_SIZE == 0) {
+                    // Drop the written entities so the persistence context stays small
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+        }
+
+        return count;
+    }
+}
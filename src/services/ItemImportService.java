@@ -0,0 +1,400 @@
+package services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import entities.FoundItem;
+import entities.LostItem;
+import entities.User;
+import exceptions.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import payloads.request.FoundItemRequest;
+import payloads.request.LostItemRequest;
+import repositories.FoundItemRepository;
+import repositories.LostItemRepository;
+import repositories.UserRepository;
+import utils.CsvReader;
+import utils.GeoGrid;
+import utils.JwtClaims;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service importing lost or found items in bulk from CSV or NDJSON
+ * 
+ * The body is parsed one row at a time; valid rows are collected into batches that
+ * are inserted in their own transaction (as JDBC batches) and published as item
+ * creations, so memory use is bounded by the batch size. Invalid rows are skipped
+ * and reported with their row number instead of failing the whole import.
+ * 
+ */
+@Service
+public class ItemImportService {
+
+    private static final int MAX_FIELD_LENGTH = 10_000;
+
+    private static final Set<String> STATUSES = Set.of("pending", "active");
+
+    @Autowired
+    private LostItemRepository lostItemRepository;
+
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Imports items, owned by the current (admin) user
+     * 
+     * @param type the type of items (lost/found)
+     * @param format the body format (csv/ndjson)
+     * @param status the status of the imported items (pending/active)
+     * @param body the request body
+     * @param claims the verified JWT claims of the current user
+     * @return the import report: row counts, the errors of the rejected rows and, if the body
+     *         could not be read to the end, where the import stopped
+     */
+    public Map<String, Object> importItems(String type, String format, String status, InputStream body,
+                                           JwtClaims claims) {
+        if (!type.equals("lost") && !type.equals("found")) {
+            throw new IllegalArgumentException("Type must be 'lost' or 'found'");
+        }
+        if (!format.equals("csv") && !format.equals("ndjson")) {
+            throw new IllegalArgumentException("Format must be 'csv' or 'ndjson'");
+        }
+        if (!STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Status must be 'pending' or 'active'");
+        }
+
+        Long userId = claims.getUserId();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        Import run = new Import(type, status, user);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (format.equals("csv")) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        run.flush();
+        return run.report();
+    }
+
+    // Earlier batches are already committed when the body turns out to be unreadable, so a
+    // parse or read failure stops the import and is reported with the rows imported so far
+    private void readCsv(BufferedReader reader, Import run) {
+        CsvReader csv = new CsvReader(reader, MAX_FIELD_LENGTH);
+        List<String> header;
+        try {
+            header = csv.readRecord();
+        } catch (IOException e) {
+            run.stop(0, 1, e.getMessage());
+            return;
+        }
+        if (header == null) {
+            return;
+        }
+
+        List<String> columns = new ArrayList<>();
+        for (String column : header) {
+            columns.add(propertyName(column));
+        }
+
+        long row = 0;
+        while (true) {
+            long line = csv.getLine();
+            List<String> record;
+            try {
+                record = csv.readRecord();
+            } catch (IOException e) {
+                run.stop(row + 1, line, e.getMessage());
+                return;
+            }
+            if (record == null) {
+                return;
+            }
+            row++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < record.size() && i < columns.size(); i++) {
+                String value = record.get(i).trim();
+                if (!value.isEmpty()) {
+                    values.put(columns.get(i), value);
+                }
+            }
+            try {
+                run.add(row, objectMapper.convertValue(values, run.requestType()));
+            } catch (IllegalArgumentException e) {
+                run.reject(row, List.of(conversionError(e)));
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Import run) {
+        long row = 0;
+        while (true) {
+            String line;
+            try {
+                line = reader.readLine();
+            } catch (IOException e) {
+                run.stop(row + 1, row + 1, e.getMessage());
+                return;
+            }
+            if (line == null) {
+                return;
+            }
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (line.length() > MAX_FIELD_LENGTH * 10) {
+                run.reject(row, List.of("Line is too long"));
+                continue;
+            }
+
+            try {
+                run.add(row, objectMapper.readValue(line, run.requestType()));
+            } catch (IOException e) {
+                run.reject(row, List.of(conversionError(e)));
+            }
+        }
+    }
+
+    // image_url, Image URL and imageUrl all name the imageUrl property
+    private static String propertyName(String column) {
+        String[] words = column.trim().replace("\uFEFF", "").split("[_\\s-]+");
+        StringBuilder name = new StringBuilder();
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (name.isEmpty()) {
+                // A single word keeps its camel case (foundDate); the first of several is lowercased (FOUND_DATE)
+                name.append(words.length == 1
+                        ? Character.toLowerCase(word.charAt(0)) + word.substring(1)
+                        : word.toLowerCase(Locale.ROOT));
+            } else {
+                name.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1).toLowerCase(Locale.ROOT));
+            }
+        }
+        return name.toString();
+    }
+
+    private static String conversionError(Exception e) {
+        String message = e.getMessage() == null ? "Invalid row" : e.getMessage();
+        int end = message.indexOf('\n');
+        return "Invalid row: " + (end < 0 ? message : message.substring(0, end));
+    }
+
+    /**
+     * State of one import: the pending batch and the report
+     */
+    private class Import {
+        private final String type;
+        private final String status;
+        private final User user;
+        private final List<Object> batch = new ArrayList<>();
+        private final List<Long> batchRows = new ArrayList<>();
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+        private Map<String, Object> stoppedAt;
+
+        Import(String type, String status, User user) {
+            this.type = type;
+            this.status = status;
+            this.user = user;
+        }
+
+        Class<?> requestType() {
+            return type.equals("lost") ? LostItemRequest.class : FoundItemRequest.class;
+        }
+
+        void add(long row, Object request) {
+            rows++;
+            Set<String> messages = new TreeSet<>();
+            for (ConstraintViolation<Object> violation : validator.validate(request)) {
+                messages.add(violation.getMessage());
+            }
+
+            Object item = null;
+            if (messages.isEmpty()) {
+                try {
+                    item = type.equals("lost") ? lostItem((LostItemRequest) request) : foundItem((FoundItemRequest) request);
+                } catch (IllegalArgumentException e) {
+                    messages.add(e.getMessage());
+                }
+            }
+            if (!messages.isEmpty()) {
+                addError(row, new ArrayList<>(messages));
+                return;
+            }
+
+            batch.add(item);
+            batchRows.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, List<String> messages) {
+            rows++;
+            addError(row, messages);
+        }
+
+        void stop(long row, long line, String message) {
+            stoppedAt = new LinkedHashMap<>();
+            stoppedAt.put("row", row);
+            stoppedAt.put("line", line);
+            stoppedAt.put("error", message == null ? "Could not read the request body" : message);
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                    if (type.equals("lost")) {
+                        List<LostItem> items = new ArrayList<>();
+                        batch.forEach(item -> items.add((LostItem) item));
+                        for (LostItem item : lostItemRepository.saveAll(items)) {
+                            eventPublisher.publishEvent(ItemChangedEvent.created(ItemSnapshot.of(item)));
+                        }
+                    } else {
+                        List<FoundItem> items = new ArrayList<>();
+                        batch.forEach(item -> items.add((FoundItem) item));
+                        for (FoundItem item : foundItemRepository.saveAll(items)) {
+                            eventPublisher.publishEvent(ItemChangedEvent.created(ItemSnapshot.of(item)));
+                        }
+                    }
+                    // Send the batch and drop it from the persistence context
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                imported += batch.size();
+            } catch (RuntimeException e) {
+                // The whole batch was rolled back; each of its rows is reported with the cause
+                String message = "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                for (Long row : batchRows) {
+                    addError(row, List.of(message));
+                }
+            } finally {
+                batch.clear();
+                batchRows.clear();
+            }
+        }
+
+        Map<String, Object> report() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("type", type);
+            report.put("rows", rows);
+            report.put("imported", imported);
+            report.put("failed", failed);
+            report.put("errors", errors);
+            report.put("errors_truncated", failed > errors.size());
+            // Rows after this point were not read; imported rows stay committed, so a retry must start there
+            report.put("complete", stoppedAt == null);
+            if (stoppedAt != null) {
+                report.put("stopped_at", stoppedAt);
+            }
+            return report;
+        }
+
+        private void addError(long row, List<String> messages) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("row", row);
+                error.put("errors", messages);
+                errors.add(error);
+            }
+        }
+
+        private LostItem lostItem(LostItemRequest request) {
+            GeoGrid.checkCoordinates(request.getLatitude(), request.getLongitude());
+            LostItem item = new LostItem();
+            item.setTitle(request.getTitle());
+            item.setDescription(request.getDescription());
+            item.setCategory(request.getCategory());
+            item.setLocation(request.getLocation());
+            item.setLatitude(request.getLatitude());
+            item.setLongitude(request.getLongitude());
+            item.setImageUrl(request.getImageUrl());
+            item.setLostDate(request.getLostDate());
+            item.setStatus(status);
+            item.setUser(user);
+            item.setCreatedAt(new Date());
+            item.setUpdatedAt(new Date());
+            return item;
+        }
+
+        private FoundItem foundItem(FoundItemRequest request) {
+            GeoGrid.checkCoordinates(request.getLatitude(), request.getLongitude());
+            FoundItem item = new FoundItem();
+            item.setTitle(request.getTitle());
+            item.setDescription(request.getDescription());
+            item.setCategory(request.getCategory());
+            item.setLocation(request.getLocation());
+            item.setLatitude(request.getLatitude());
+            item.setLongitude(request.getLongitude());
+            item.setImageUrl(request.getImageUrl());
+            item.setFoundDate(request.getFoundDate());
+            item.setStorageLocation(request.getStorageLocation());
+            item.setStatus(status);
+            item.setUser(user);
+            item.setCreatedAt(new Date());
+            item.setUpdatedAt(new Date());
+            return item;
+        }
+    }
+}
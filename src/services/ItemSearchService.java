@@ -0,0 +1,210 @@
+package services;
+
+import entities.FoundItem;
+import entities.Item;
+import entities.LostItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import payloads.request.ItemSearchRequest;
+import payloads.response.CursorPage;
+import payloads.response.TypedItem;
+import utils.CursorPagination;
+import utils.PageCursor;
+import utils.RankCursor;
+import utils.Ranked;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Service querying lost and found items together
+ * 
+ * Both repositories are queried concurrently on virtual threads, so a request
+ * costs roughly the slower of the two queries instead of their sum.
+ * 
+ */
+@Service
+public class ItemSearchService {
+
+    private static final Comparator<Item> NEWEST_FIRST = Comparator
+            .comparing(Item::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(Item::getId, Comparator.reverseOrder());
+
+    private static final Comparator<Ranked<? extends Item>> MOST_RELEVANT_FIRST = Comparator
+            .comparingDouble((Ranked<? extends Item> result) -> result.rank()).reversed()
+            .thenComparing(result -> result.item().getId(), Comparator.reverseOrder());
+
+    @Autowired
+    private LostItemService lostItemService;
+
+    @Autowired
+    private FoundItemService foundItemService;
+
+    @Autowired
+    private CursorPagination cursorPagination;
+
+    @Autowired
+    @Qualifier("itemQueryExecutor")
+    private ExecutorService itemQueryExecutor;
+
+    /**
+     * Gets one page of lost and found items merged into a single list, newest first,
+     * or most relevant first when searching for a keyword
+     * 
+     * @param request the search filters, or null to list every item
+     * @param cursor the combined cursor returned with the previous page, or null for the first page
+     * @param limit the page size, or null for the default
+     * @return page of items tagged with their type
+     */
+    public CursorPage<TypedItem> getMergedItems(ItemSearchRequest request, String cursor, Integer limit) {
+        if (request != null && request.hasKeyword()) {
+            return getMergedItemsByRelevance(request, cursor, limit);
+        }
+
+        int pageSize = cursorPagination.resolveLimit(limit);
+        List<String> cursors = PageCursor.split(cursor, 2);
+
+        Future<CursorPage<LostItem>> lostFuture = submit(cursors.get(0), () -> request == null
+                ? lostItemService.getLostItems(cursors.get(0), pageSize)
+                : lostItemService.searchLostItems(request, cursors.get(0), pageSize));
+        Future<CursorPage<FoundItem>> foundFuture = submit(cursors.get(1), () -> request == null
+                ? foundItemService.getFoundItems(cursors.get(1), pageSize)
+                : foundItemService.searchFoundItems(request, cursors.get(1), pageSize));
+
+        CursorPage<LostItem> lostPage = await(lostFuture);
+        CursorPage<FoundItem> foundPage = await(foundFuture);
+
+        // Merge the two newest-first pages, keeping track of how far each one was consumed
+        List<TypedItem> items = new ArrayList<>();
+        int lostIndex = 0;
+        int foundIndex = 0;
+        while (items.size() < pageSize
+                && (lostIndex < lostPage.getItems().size() || foundIndex < foundPage.getItems().size())) {
+            boolean takeLost = foundIndex >= foundPage.getItems().size()
+                    || (lostIndex < lostPage.getItems().size()
+                        && NEWEST_FIRST.compare(lostPage.getItems().get(lostIndex), foundPage.getItems().get(foundIndex)) <= 0);
+            if (takeLost) {
+                items.add(new TypedItem("lost", lostPage.getItems().get(lostIndex++)));
+            } else {
+                items.add(new TypedItem("found", foundPage.getItems().get(foundIndex++)));
+            }
+        }
+
+        String nextCursor = PageCursor.combine(Arrays.asList(
+                nextCursor(lostPage, lostIndex, cursors.get(0)),
+                nextCursor(foundPage, foundIndex, cursors.get(1))));
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private CursorPage<TypedItem> getMergedItemsByRelevance(ItemSearchRequest request, String cursor, Integer limit) {
+        int pageSize = cursorPagination.resolveLimit(limit);
+        List<String> cursors = PageCursor.split(cursor, 2);
+
+        Future<CursorPage<Ranked<LostItem>>> lostFuture = submit(cursors.get(0),
+                () -> lostItemService.searchLostItemsByRelevance(request, cursors.get(0), pageSize));
+        Future<CursorPage<Ranked<FoundItem>>> foundFuture = submit(cursors.get(1),
+                () -> foundItemService.searchFoundItemsByRelevance(request, cursors.get(1), pageSize));
+
+        CursorPage<Ranked<LostItem>> lostPage = await(lostFuture);
+        CursorPage<Ranked<FoundItem>> foundPage = await(foundFuture);
+
+        // Same merge as above, on the rank of each result
+        List<TypedItem> items = new ArrayList<>();
+        int lostIndex = 0;
+        int foundIndex = 0;
+        while (items.size() < pageSize
+                && (lostIndex < lostPage.getItems().size() || foundIndex < foundPage.getItems().size())) {
+            boolean takeLost = foundIndex >= foundPage.getItems().size()
+                    || (lostIndex < lostPage.getItems().size()
+                        && MOST_RELEVANT_FIRST.compare(lostPage.getItems().get(lostIndex), foundPage.getItems().get(foundIndex)) <= 0);
+            if (takeLost) {
+                items.add(new TypedItem("lost", lostPage.getItems().get(lostIndex++).item()));
+            } else {
+                items.add(new TypedItem("found", foundPage.getItems().get(foundIndex++).item()));
+            }
+        }
+
+        String nextCursor = PageCursor.combine(Arrays.asList(
+                nextRankCursor(lostPage, lostIndex, cursors.get(0)),
+                nextRankCursor(foundPage, foundIndex, cursors.get(1))));
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Gets one page of lost items and one page of found items, fetched concurrently
+     * 
+     * @param cursor the combined cursor returned with the previous page, or null for the first page
+     * @param limit the page size of each list, or null for the default
+     * @return the lost page and the found page, and the combined cursor of the next pages
+     */
+    public LostAndFoundPages getLostAndFoundItems(String cursor, Integer limit) {
+        List<String> cursors = PageCursor.split(cursor, 2);
+
+        Future<CursorPage<LostItem>> lostFuture = submit(cursors.get(0),
+                () -> lostItemService.getLostItems(cursors.get(0), limit));
+        Future<CursorPage<FoundItem>> foundFuture = submit(cursors.get(1),
+                () -> foundItemService.getFoundItems(cursors.get(1), limit));
+
+        CursorPage<LostItem> lostPage = await(lostFuture);
+        CursorPage<FoundItem> foundPage = await(foundFuture);
+
+        String nextCursor = PageCursor.combine(Arrays.asList(lostPage.getNextCursor(), foundPage.getNextCursor()));
+        return new LostAndFoundPages(lostPage.getItems(), foundPage.getItems(), nextCursor);
+    }
+
+    /**
+     * Lost and found pages returned together
+     */
+    public record LostAndFoundPages(List<LostItem> lostItems, List<FoundItem> foundItems, String nextCursor) {
+    }
+
+    // An exhausted stream (null cursor) is not queried again
+    private <T> Future<CursorPage<T>> submit(String cursor, Callable<CursorPage<T>> query) {
+        if (cursor == null) {
+            return CompletableFuture.completedFuture(new CursorPage<>(List.of(), null));
+        }
+        return itemQueryExecutor.submit(query);
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying items", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private String nextCursor(CursorPage<? extends Item> page, int consumed, String previousCursor) {
+        if (consumed == page.getItems().size()) {
+            return page.getNextCursor(); // null when the stream is exhausted
+        }
+        if (consumed == 0) {
+            return previousCursor;
+        }
+        return PageCursor.after(page.getItems().get(consumed - 1)).encode();
+    }
+
+    private String nextRankCursor(CursorPage<? extends Ranked<? extends Item>> page, int consumed, String previousCursor) {
+        if (consumed == page.getItems().size()) {
+            return page.getNextCursor(); // null when the stream is exhausted
+        }
+        if (consumed == 0) {
+            return previousCursor;
+        }
+        return RankCursor.after(page.getItems().get(consumed - 1)).encode();
+    }
+}
@@ -0,0 +1,47 @@
+package services;
+
+import entities.FoundItem;
+import entities.LostItem;
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * Immutable copy of the searchable state of a lost or found item
+ * 
+ * Taken before and after a write, so listeners can see what changed
+ * without touching the (possibly already modified) entity.
+ * 
+ */
+@Value
+public class ItemSnapshot {
+    String type; // "lost" or "found"
+    Long id;
+    String title;
+    String description;
+    String category;
+    String location;
+    Double latitude;
+    Double longitude;
+    String status;
+    Date itemDate; // lostDate or foundDate
+    Date createdAt;
+    Date claimedAt; // null unless claimed
+
+    public static ItemSnapshot of(LostItem item) {
+        return new ItemSnapshot("lost", item.getId(), item.getTitle(), item.getDescription(),
+                item.getCategory(), item.getLocation(), item.getLatitude(), item.getLongitude(), item.getStatus(),
+                copy(item.getLostDate()), copy(item.getCreatedAt()), copy(item.getClaimedAt()));
+    }
+
+    public static ItemSnapshot of(FoundItem item) {
+        return new ItemSnapshot("found", item.getId(), item.getTitle(), item.getDescription(),
+                item.getCategory(), item.getLocation(), item.getLatitude(), item.getLongitude(), item.getStatus(),
+                copy(item.getFoundDate()), copy(item.getCreatedAt()), copy(item.getClaimedAt()));
+    }
+
+    // Loaded entities hold java.sql.Timestamp, whose equals() does not accept a plain Date
+    private static Date copy(Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+}
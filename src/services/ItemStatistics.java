@@ -0,0 +1,172 @@
+package services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import repositories.FoundItemRepository;
+import repositories.LostItemRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory item counters per type and status
+ * 
+ * Counters are updated after each committed item write, so reading the statistics
+ * needs no query. They are reconciled with the database at startup and then
+ * periodically, which corrects any drift (e.g. rows changed outside the application).
+ * A listener already waiting when a reconciliation starts drops its delta, which the
+ * count includes. A write committed just before the count whose listener starts only
+ * after it may still be counted twice; that drift lasts until the next reconciliation.
+ * 
+ */
+@Component
+public class ItemStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemStatistics.class);
+
+    @Autowired
+    private LostItemRepository lostItemRepository;
+
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+
+    private final Map<String, ConcurrentHashMap<String, LongAdder>> counters = Map.of(
+            "lost", new ConcurrentHashMap<>(),
+            "found", new ConcurrentHashMap<>());
+
+    // Writes share the read lock (LongAdder handles contention); reconciliation takes the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Bumped just before each type is counted: a write whose listener started earlier was
+    // already committed, so the count includes it and its delta must not be applied on top.
+    // Listeners starting after the bump are applied, even if the count already saw their write.
+    private final Map<String, AtomicLong> generations = Map.of(
+            "lost", new AtomicLong(),
+            "found", new AtomicLong());
+
+    // Stats reads retry a reconciliation that has never succeeded at most this often
+    private static final long RETRY_INTERVAL_MS = 30_000;
+
+    private volatile boolean reconciled;
+    private volatile long lastAttempt;
+
+    /**
+     * Gets the number of items per type and status
+     * 
+     * @return map of statistic name to value
+     */
+    public Map<String, Object> getStats() {
+        // Until the first success; later failures are left to the scheduled runs
+        if (!reconciled && System.currentTimeMillis() - lastAttempt >= RETRY_INTERVAL_MS) {
+            reconcile();
+        }
+
+        Map<String, Long> lost = snapshot("lost");
+        Map<String, Long> found = snapshot("found");
+        long totalLostItems = sum(lost);
+        long totalFoundItems = sum(found);
+
+        return Map.of(
+            "total_items", totalLostItems + totalFoundItems,
+            "total_lost_items", totalLostItems,
+            "total_found_items", totalFoundItems,
+            "lost_items_by_status", lost,
+            "found_items_by_status", found
+        );
+    }
+
+    /**
+     * Updates the counters after an item has been written
+     * 
+     * @param event the item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        String before = event.getBefore() == null ? null : event.getBefore().getStatus();
+        String after = event.getAfter() == null ? null : event.getAfter().getStatus();
+        if (event.getAction() == ItemChangedEvent.Action.UPDATED && Objects.equals(before, after)) {
+            return;
+        }
+
+        // Read before waiting for the lock, which a running reconciliation holds
+        long generation = generations.get(event.getType()).get();
+
+        lock.readLock().lock();
+        try {
+            if (generation != generations.get(event.getType()).get()) {
+                return;
+            }
+            if (event.getAction() != ItemChangedEvent.Action.CREATED) {
+                counter(event.getType(), before).decrement();
+            }
+            if (event.getAction() != ItemChangedEvent.Action.DELETED) {
+                counter(event.getType(), after).increment();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resets the counters to the counts in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        lastAttempt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            generations.get("lost").incrementAndGet();
+            reset("lost", lostItemRepository.countGroupedByStatus());
+            generations.get("found").incrementAndGet();
+            reset("found", foundItemRepository.countGroupedByStatus());
+            reconciled = true;
+        } catch (RuntimeException e) {
+            // Deltas dropped during this attempt are missing until the next scheduled run
+            logger.error("Could not reconcile item statistics: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reset(String type, List<Object[]> rows) {
+        ConcurrentHashMap<String, LongAdder> typeCounters = counters.get(type);
+        typeCounters.clear();
+        for (Object[] row : rows) {
+            counter(type, (String) row[0]).add((Long) row[1]);
+        }
+    }
+
+    private LongAdder counter(String type, String status) {
+        return counters.get(type).computeIfAbsent(status == null ? "unknown" : status, s -> new LongAdder());
+    }
+
+    private Map<String, Long> snapshot(String type) {
+        Map<String, Long> counts = new TreeMap<>();
+        counters.get(type).forEach((status, counter) -> {
+            long count = counter.sum();
+            if (count != 0) {
+                counts.put(status, count);
+            }
+        });
+        return counts;
+    }
+
+    private static long sum(Map<String, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
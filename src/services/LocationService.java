@@ -0,0 +1,96 @@
+package services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import repositories.FoundItemRepository;
+import repositories.LostItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service for location lookups backed by the trigram indexes on item locations
+ * 
+ */
+@Service
+public class LocationService {
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    @Autowired
+    private LostItemRepository lostItemRepository;
+
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+
+    /**
+     * Finds known locations containing the query, falling back to similar
+     * locations ("did you mean") when none contains it
+     * 
+     * @param query the location text typed by the user
+     * @param type the type of items to look at (lost/found), or null for both
+     * @param limit the maximum number of locations to return
+     * @return map with the locations and whether they come from the similarity fallback
+     */
+    public Map<String, Object> findLocations(String query, String type, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        String text = query.trim();
+
+        List<String> locations = findLocationsContaining(text, type, max);
+        boolean similar = false;
+        if (locations.isEmpty()) {
+            locations = findSimilarLocations(text, type, max);
+            similar = true;
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("locations", locations);
+        result.put("similar", similar);
+        return result;
+    }
+
+    /**
+     * Finds known locations similar to the given text
+     * 
+     * @param text the location text typed by the user
+     * @param type the type of items to look at (lost/found), or null for both
+     * @param limit the maximum number of locations to return
+     * @return list of locations, most similar first
+     */
+    public List<String> findSimilarLocations(String text, String type, int limit) {
+        Set<String> locations = new LinkedHashSet<>();
+        if (type == null || type.equalsIgnoreCase("lost")) {
+            locations.addAll(lostItemRepository.findSimilarLocations(text, limit));
+        }
+        if (type == null || type.equalsIgnoreCase("found")) {
+            locations.addAll(foundItemRepository.findSimilarLocations(text, limit));
+        }
+        return first(locations, limit);
+    }
+
+    private List<String> findLocationsContaining(String text, String type, int limit) {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+
+        Set<String> locations = new LinkedHashSet<>();
+        if (type == null || type.equalsIgnoreCase("lost")) {
+            locations.addAll(lostItemRepository.findLocationsLike(pattern, limit));
+        }
+        if (type == null || type.equalsIgnoreCase("found")) {
+            locations.addAll(foundItemRepository.findLocationsLike(pattern, limit));
+        }
+        return first(locations, limit);
+    }
+
+    private List<String> first(Set<String> locations, int limit) {
+        List<String> result = new ArrayList<>(locations);
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+}
@@ -4,10 +4,18 @@ import entities.LostItem;
 import entities.User;
 import exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import payloads.request.ItemSearchRequest;
+import payloads.response.CursorPage;
+import repositories.ItemSpecifications;
 import repositories.LostItemRepository;
 import repositories.UserRepository;
-import utils.JwtUtils;
+import utils.CursorPagination;
+import utils.GeoGrid;
+import utils.JwtClaims;
+import utils.Ranked;
 
 import java.util.Date;
 import java.util.List;
@@ -26,25 +34,36 @@ public class LostItemService {
     private UserRepository userRepository;
 
     @Autowired
-    private JwtUtils jwtUtils;
+    private CursorPagination cursorPagination;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
 
     /**
      * Creates a new lost item
      * 
      * @param lostItem the lost item to create
-     * @param token the JWT token
+     * @param claims the verified JWT claims of the current user
      * @return the created lost item
      */
-    public LostItem createLostItem(LostItem lostItem, String token) {
-        Long userId = jwtUtils.getUserIdFromJwtToken(token);
+    public LostItem createLostItem(LostItem lostItem, JwtClaims claims) {
+        Long userId = claims.getUserId();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
+        GeoGrid.checkCoordinates(lostItem.getLatitude(), lostItem.getLongitude());
+        
         lostItem.setUser(user);
         lostItem.setCreatedAt(new Date());
         lostItem.setUpdatedAt(new Date());
         
-        return lostItemRepository.save(lostItem);
+        LostItem createdLostItem = lostItemRepository.save(lostItem);
+        eventPublisher.publishEvent(ItemChangedEvent.created(ItemSnapshot.of(createdLostItem)));
+        
+        return createdLostItem;
     }
 
     /**
@@ -56,6 +75,21 @@ public class LostItemService {
         return lostItemRepository.findAll();
     }
 
+    /**
+     * Gets one page of lost items, newest first
+     * 
+     * Pages are served from the search result cache when possible.
+     * 
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the page size, or null for the default
+     * @return page of lost items
+     */
+    public CursorPage<LostItem> getLostItems(String cursor, Integer limit) {
+        int pageSize = cursorPagination.resolveLimit(limit);
+        return searchResultCache.get("lost", null, cursor, pageSize,
+                () -> cursorPagination.fetch(lostItemRepository, Specification.where(null), cursor, pageSize));
+    }
+
     /**
      * Gets a lost item by ID
      * 
@@ -72,12 +106,12 @@ public class LostItemService {
      * 
      * @param id the ID of the lost item to update
      * @param lostItemDetails the updated lost item details
-     * @param token the JWT token
+     * @param claims the verified JWT claims of the current user
      * @return the updated lost item
      */
-    public LostItem updateLostItem(Long id, LostItem lostItemDetails, String token) {
-        Long userId = jwtUtils.getUserIdFromJwtToken(token);
-        boolean isAdmin = jwtUtils.isAdminFromJwtToken(token);
+    public LostItem updateLostItem(Long id, LostItem lostItemDetails, JwtClaims claims) {
+        Long userId = claims.getUserId();
+        boolean isAdmin = claims.isAdmin();
         
         LostItem lostItem = lostItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Lost item not found with id: " + id));
@@ -87,6 +121,8 @@ public class LostItemService {
             throw new IllegalArgumentException("You are not authorized to update this lost item");
         }
         
+        ItemSnapshot before = ItemSnapshot.of(lostItem);
+        
         // Update fields if provided
         if (lostItemDetails.getTitle() != null) {
             lostItem.setTitle(lostItemDetails.getTitle());
@@ -104,6 +140,12 @@ public class LostItemService {
             lostItem.setLocation(lostItemDetails.getLocation());
         }
         
+        if (lostItemDetails.getLatitude() != null || lostItemDetails.getLongitude() != null) {
+            GeoGrid.checkCoordinates(lostItemDetails.getLatitude(), lostItemDetails.getLongitude());
+            lostItem.setLatitude(lostItemDetails.getLatitude());
+            lostItem.setLongitude(lostItemDetails.getLongitude());
+        }
+        
         if (lostItemDetails.getImageUrl() != null) {
             lostItem.setImageUrl(lostItemDetails.getImageUrl());
         }
@@ -118,18 +160,21 @@ public class LostItemService {
         
         lostItem.setUpdatedAt(new Date());
         
-        return lostItemRepository.save(lostItem);
+        LostItem updatedLostItem = lostItemRepository.save(lostItem);
+        eventPublisher.publishEvent(ItemChangedEvent.updated(before, ItemSnapshot.of(updatedLostItem)));
+        
+        return updatedLostItem;
     }
 
     /**
      * Deletes a lost item
      * 
      * @param id the ID of the lost item to delete
-     * @param token the JWT token
+     * @param claims the verified JWT claims of the current user
      */
-    public void deleteLostItem(Long id, String token) {
-        Long userId = jwtUtils.getUserIdFromJwtToken(token);
-        boolean isAdmin = jwtUtils.isAdminFromJwtToken(token);
+    public void deleteLostItem(Long id, JwtClaims claims) {
+        Long userId = claims.getUserId();
+        boolean isAdmin = claims.isAdmin();
         
         LostItem lostItem = lostItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Lost item not found with id: " + id));
@@ -140,39 +185,48 @@ public class LostItemService {
         }
         
         lostItemRepository.delete(lostItem);
+        eventPublisher.publishEvent(ItemChangedEvent.deleted(ItemSnapshot.of(lostItem)));
     }
 
     /**
-     * Searches for lost items
+     * Searches for lost items, newest first, or most relevant first with a keyword
+     * 
+     * All filters set on the request are applied together in a single query.
+     * With no filters at all, the active lost items are returned.
+     * Pages are served from the search result cache when possible.
      * 
-     * @param keyword the keyword to search for
-     * @param location the location to search in
-     * @param startDate the start date of the range
-     * @param endDate the end date of the range
-     * @return list of matching lost items
+     * @param request the search filters
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the page size, or null for the default
+     * @return page of matching lost items
      */
-    public List<LostItem> searchLostItems(String keyword, String location, Date startDate, Date endDate) {
-        // If all parameters are null, return all lost items with status "active"
-        if (keyword == null && location == null && startDate == null && endDate == null) {
-            return lostItemRepository.findByStatus("active");
-        }
-        
-        // If only location is provided
-        if (keyword == null && location != null && startDate == null && endDate == null) {
-            return lostItemRepository.findByLocationContainingIgnoreCase(location);
-        }
-        
-        // If only keyword is provided
-        if (keyword != null && location == null && startDate == null && endDate == null) {
-            return lostItemRepository.searchByKeyword(keyword);
-        }
-        
-        // If only date range is provided
-        if (keyword == null && location == null && startDate != null && endDate != null) {
-            return lostItemRepository.findByLostDateBetween(startDate, endDate);
+    public CursorPage<LostItem> searchLostItems(ItemSearchRequest request, String cursor, Integer limit) {
+        if (request.hasKeyword()) {
+            CursorPage<Ranked<LostItem>> page = searchLostItemsByRelevance(request, cursor, limit);
+            return new CursorPage<>(page.getItems().stream().map(Ranked::item).toList(), page.getNextCursor());
         }
+
+        // If no filter is set, return lost items with status "active"
+        Specification<LostItem> specification = ItemSpecifications.search(request, "lostDate");
         
-        // Fallback to returning all active lost items
-        return lostItemRepository.findByStatus("active");
+        int pageSize = cursorPagination.resolveLimit(limit);
+        return searchResultCache.get("lost", request, cursor, pageSize,
+                () -> cursorPagination.fetch(lostItemRepository, specification, cursor, pageSize));
+    }
+
+    /**
+     * Searches for lost items matching a keyword, most relevant first
+     * 
+     * @param request the search filters, with a keyword
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the page size, or null for the default
+     * @return page of matching lost items with their rank
+     */
+    public CursorPage<Ranked<LostItem>> searchLostItemsByRelevance(ItemSearchRequest request, String cursor, Integer limit) {
+        Specification<LostItem> specification = ItemSpecifications.matching(request, "lostDate");
+
+        int pageSize = cursorPagination.resolveLimit(limit);
+        return searchResultCache.get("lost", request, cursor, pageSize,
+                () -> cursorPagination.fetchByRelevance(LostItem.class, specification, request.getKeyword(), cursor, pageSize));
     }
 }
@@ -0,0 +1,235 @@
+package services;
+
+import entities.FoundItem;
+import entities.ItemMatch;
+import entities.LostItem;
+import exceptions.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import payloads.response.ItemMatchResponse;
+import repositories.FoundItemRepository;
+import repositories.ItemMatchRepository;
+import repositories.LostItemRepository;
+import utils.TextSimilarity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service pairing lost items with found items that may be the same object
+ * 
+ * Matches are maintained incrementally: when an item is created or its matching
+ * fields change, only the pairs involving that item are rescored. Candidates are
+ * blocked on category and a date window, so each refresh only reads the items
+ * that could possibly match instead of the whole other table.
+ * 
+ * Each item keeps at most matching.max-matches-per-item pairs: a refresh keeps the
+ * best pairs of its item, then trims the other items it paired with to their best.
+ * 
+ */
+@Service
+public class MatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchingService.class);
+
+    private static final Set<String> MATCHABLE_STATUSES = Set.of("pending", "active");
+
+    private static final double LOCATION_WEIGHT = 0.3;
+    private static final double DATE_WEIGHT = 0.2;
+    private static final double TEXT_WEIGHT = 0.5;
+
+    @Autowired
+    private ItemMatchRepository itemMatchRepository;
+
+    @Autowired
+    private LostItemRepository lostItemRepository;
+
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // An item can be found slightly before it is reported lost, and long after
+    @Value("${matching.found-before-lost-days:2}")
+    private int foundBeforeLostDays;
+
+    @Value("${matching.found-after-lost-days:60}")
+    private int foundAfterLostDays;
+
+    @Value("${matching.min-score:0.35}")
+    private double minScore;
+
+    @Value("${matching.max-matches-per-item:20}")
+    private int maxMatchesPerItem;
+
+    /**
+     * Gets the matches of a lost item
+     * 
+     * @param lostItemId the ID of the lost item
+     * @return list of matches, best first
+     */
+    public List<ItemMatchResponse> getLostItemMatches(Long lostItemId) {
+        if (!lostItemRepository.existsById(lostItemId)) {
+            throw new ResourceNotFoundException("Lost item not found with id: " + lostItemId);
+        }
+        return itemMatchRepository.findLostItemMatches(lostItemId);
+    }
+
+    /**
+     * Gets the matches of a found item
+     * 
+     * @param foundItemId the ID of the found item
+     * @return list of matches, best first
+     */
+    public List<ItemMatchResponse> getFoundItemMatches(Long foundItemId) {
+        if (!foundItemRepository.existsById(foundItemId)) {
+            throw new ResourceNotFoundException("Found item not found with id: " + foundItemId);
+        }
+        return itemMatchRepository.findFoundItemMatches(foundItemId);
+    }
+
+    /**
+     * Rescores the pairs of an item after it has been written
+     * 
+     * The item is already saved when this runs, so a failure here is logged rather
+     * than reported to the caller: the matches of the item are simply refreshed on
+     * its next change.
+     * 
+     * @param event the item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        // Matches of deleted items are removed by ON DELETE CASCADE
+        if (event.getAction() == ItemChangedEvent.Action.DELETED) {
+            return;
+        }
+        if (event.getAction() == ItemChangedEvent.Action.UPDATED && !affectsMatches(event.getBefore(), event.getAfter())) {
+            return;
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transaction.executeWithoutResult(tx -> {
+                if (event.getType().equals("lost")) {
+                    refreshLostItemMatches(event.getAfter());
+                } else {
+                    refreshFoundItemMatches(event.getAfter());
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Could not refresh the matches of {} item {}", event.getType(), event.getAfter().getId(), e);
+        }
+    }
+
+    private void refreshLostItemMatches(ItemSnapshot lost) {
+        itemMatchRepository.deleteByLostItemId(lost.getId());
+        if (!MATCHABLE_STATUSES.contains(lost.getStatus())) {
+            return;
+        }
+
+        Date start = addDays(lost.getItemDate(), -foundBeforeLostDays);
+        Date end = addDays(lost.getItemDate(), foundAfterLostDays);
+        LostItem lostItem = lostItemRepository.getReferenceById(lost.getId());
+
+        List<ItemMatch> matches = new ArrayList<>();
+        for (FoundItem found : foundItemRepository.findMatchCandidates(lost.getCategory(), start, end, MATCHABLE_STATUSES)) {
+            ItemMatch match = score(lost, ItemSnapshot.of(found));
+            if (match.getScore() >= minScore) {
+                match.setLostItem(lostItem);
+                match.setFoundItem(found);
+                matches.add(match);
+            }
+        }
+
+        List<ItemMatch> best = best(matches);
+        itemMatchRepository.saveAll(best);
+        // The found items may now have more than their best matches
+        for (ItemMatch match : best) {
+            itemMatchRepository.trimFoundItemMatches(match.getFoundItem().getId(), maxMatchesPerItem);
+        }
+    }
+
+    private void refreshFoundItemMatches(ItemSnapshot found) {
+        itemMatchRepository.deleteByFoundItemId(found.getId());
+        if (!MATCHABLE_STATUSES.contains(found.getStatus())) {
+            return;
+        }
+
+        Date start = addDays(found.getItemDate(), -foundAfterLostDays);
+        Date end = addDays(found.getItemDate(), foundBeforeLostDays);
+        FoundItem foundItem = foundItemRepository.getReferenceById(found.getId());
+
+        List<ItemMatch> matches = new ArrayList<>();
+        for (LostItem lost : lostItemRepository.findMatchCandidates(found.getCategory(), start, end, MATCHABLE_STATUSES)) {
+            ItemMatch match = score(ItemSnapshot.of(lost), found);
+            if (match.getScore() >= minScore) {
+                match.setLostItem(lost);
+                match.setFoundItem(foundItem);
+                matches.add(match);
+            }
+        }
+
+        List<ItemMatch> best = best(matches);
+        itemMatchRepository.saveAll(best);
+        // The lost items may now have more than their best matches
+        for (ItemMatch match : best) {
+            itemMatchRepository.trimLostItemMatches(match.getLostItem().getId(), maxMatchesPerItem);
+        }
+    }
+
+    private ItemMatch score(ItemSnapshot lost, ItemSnapshot found) {
+        double locationScore = TextSimilarity.jaccard(
+                TextSimilarity.trigrams(lost.getLocation()), TextSimilarity.trigrams(found.getLocation()));
+
+        // 1 on the same day, 0.5 a week apart, 0.125 after two months
+        double days = Math.abs(found.getItemDate().getTime() - lost.getItemDate().getTime()) / (double) TimeUnit.DAYS.toMillis(1);
+        double dateScore = 1 / (1 + days / 7);
+
+        double titleScore = TextSimilarity.jaccard(
+                TextSimilarity.words(lost.getTitle()), TextSimilarity.words(found.getTitle()));
+        double descriptionScore = TextSimilarity.jaccard(
+                TextSimilarity.words(lost.getTitle() + " " + lost.getDescription()),
+                TextSimilarity.words(found.getTitle() + " " + found.getDescription()));
+        double textScore = 0.6 * titleScore + 0.4 * descriptionScore;
+
+        ItemMatch match = new ItemMatch();
+        match.setLocationScore(locationScore);
+        match.setDateScore(dateScore);
+        match.setTextScore(textScore);
+        match.setScore(LOCATION_WEIGHT * locationScore + DATE_WEIGHT * dateScore + TEXT_WEIGHT * textScore);
+        match.setCreatedAt(new Date());
+        return match;
+    }
+
+    private List<ItemMatch> best(List<ItemMatch> matches) {
+        matches.sort(Comparator.comparingDouble(ItemMatch::getScore).reversed());
+        return matches.size() > maxMatchesPerItem ? matches.subList(0, maxMatchesPerItem) : matches;
+    }
+
+    private boolean affectsMatches(ItemSnapshot before, ItemSnapshot after) {
+        return !Objects.equals(before.getTitle(), after.getTitle())
+                || !Objects.equals(before.getDescription(), after.getDescription())
+                || !Objects.equals(before.getCategory(), after.getCategory())
+                || !Objects.equals(before.getLocation(), after.getLocation())
+                || !Objects.equals(before.getStatus(), after.getStatus())
+                || !Objects.equals(before.getItemDate(), after.getItemDate());
+    }
+
+    private Date addDays(Date date, int days) {
+        return new Date(date.getTime() + TimeUnit.DAYS.toMillis(days));
+    }
+}
@@ -0,0 +1,158 @@
+package services;
+
+import entities.RefreshToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import repositories.RefreshTokenRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service issuing and rotating refresh tokens
+ * 
+ * A refresh token can be exchanged once: the exchange marks it used and issues the
+ * next token of the same family (the session of one sign-in). Presenting a used token
+ * again means it was copied, so the whole family is revoked and the session must sign
+ * in again.
+ * 
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-expiration-ms:1209600000}")
+    private long refreshExpirationMs;
+
+    /**
+     * Refresh token handed to a client, with the session it belongs to
+     * 
+     * @param token the token value
+     * @param familyId the session ID
+     * @param userId the ID of the token owner
+     */
+    public record IssuedToken(String token, String familyId, Long userId) {
+    }
+
+    /**
+     * Issues the first refresh token of a new session
+     * 
+     * @param userId the ID of the user
+     * @return the issued token
+     */
+    @Transactional
+    public IssuedToken issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for the next one of its session
+     * 
+     * @param token the presented token
+     * @return the next token, or empty if the token is unknown, expired, revoked or already used
+     */
+    @Transactional
+    public Optional<IssuedToken> rotate(String token) {
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash(token));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken current = stored.get();
+        Date now = new Date();
+        if (current.isRevoked() || !current.getExpiresAt().after(now)) {
+            return Optional.empty();
+        }
+
+        // Conditional update, so that of two exchanges of the same token only one succeeds
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            logger.warn("Refresh token reuse detected, revoking session {} of user {}",
+                    current.getFamilyId(), current.getUserId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            return Optional.empty();
+        }
+
+        return Optional.of(issue(current.getUserId(), current.getFamilyId()));
+    }
+
+    /**
+     * Revokes the refresh tokens of a session
+     * 
+     * @param familyId the session ID
+     */
+    @Transactional
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+    }
+
+    /**
+     * Revokes the refresh tokens of every session of a user
+     * 
+     * @param userId the ID of the user
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeByUserId(userId);
+    }
+
+    /**
+     * Deletes the expired refresh tokens
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh.purge-interval-ms:3600000}",
+            initialDelayString = "${auth.refresh.purge-interval-ms:3600000}")
+    @Transactional
+    public void purge() {
+        try {
+            int deleted = refreshTokenRepository.deleteExpired(new Date());
+            logger.info("Purged {} expired refresh tokens", deleted);
+        } catch (RuntimeException e) {
+            logger.error("Could not purge refresh tokens: {}", e.getMessage());
+        }
+    }
+
+    private IssuedToken issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Date now = new Date();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUserId(userId);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(new Date(now.getTime() + refreshExpirationMs));
+        refreshTokenRepository.save(refreshToken);
+
+        return new IssuedToken(token, familyId, userId);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
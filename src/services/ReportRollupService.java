@@ -0,0 +1,304 @@
+package services;
+
+import entities.ItemClaimRollup;
+import entities.ItemDailyRollup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import repositories.ItemClaimRollupRepository;
+import repositories.ItemDailyRollupRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Service maintaining the daily reporting rollups and answering time series reports from them
+ * 
+ * Rollups are updated after each committed item write, so reports only read the
+ * rows of their date range. A nightly compaction recomputes the recent days from
+ * the item tables and removes empty rows.
+ * 
+ */
+@Service
+public class ReportRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportRollupService.class);
+
+    /** Last time-to-claim bucket, for claims after 2^11 hours (about 85 days) or more */
+    public static final int MAX_BUCKET = 12;
+
+    private static final int MAX_RANGE_DAYS = 731;
+
+    @Autowired
+    private ItemDailyRollupRepository dailyRollupRepository;
+
+    @Autowired
+    private ItemClaimRollupRepository claimRollupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${reports.rollup.recompute-days:2}")
+    private int recomputeDays;
+
+    /**
+     * Updates the rollups after an item has been written
+     * 
+     * The item is already saved when this runs, so a failure here is logged rather
+     * than reported to the caller; the nightly compaction recomputes the daily rollups.
+     * 
+     * @param event the item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transaction.executeWithoutResult(tx -> updateRollups(event));
+        } catch (RuntimeException e) {
+            logger.error("Could not update the rollups of {} item {}", event.getType(), event.getItemId(), e);
+        }
+    }
+
+    private void updateRollups(ItemChangedEvent event) {
+        ItemSnapshot before = event.getBefore();
+        ItemSnapshot after = event.getAfter();
+
+        if (event.getAction() != ItemChangedEvent.Action.UPDATED || !sameRollup(before, after)) {
+            if (before != null && before.getCreatedAt() != null) {
+                dailyRollupRepository.addCount(day(before.getCreatedAt()), event.getType(),
+                        category(before.getCategory()), before.getStatus(), -1);
+            }
+            if (after != null && after.getCreatedAt() != null) {
+                dailyRollupRepository.addCount(day(after.getCreatedAt()), event.getType(),
+                        category(after.getCategory()), after.getStatus(), 1);
+            }
+        }
+
+        // A claim is counted on the day the item was claimed, and uncounted when the item
+        // leaves the claimed status or is deleted
+        ItemSnapshot claimedBefore = claimed(before) ? before : null;
+        ItemSnapshot claimedAfter = claimed(after) ? after : null;
+        if (claimedBefore != null && claimedAfter != null
+                && claimedBefore.getClaimedAt().equals(claimedAfter.getClaimedAt())
+                && category(claimedBefore.getCategory()).equals(category(claimedAfter.getCategory()))) {
+            return;
+        }
+        if (claimedBefore != null) {
+            addClaim(event.getType(), claimedBefore, -1);
+        }
+        if (claimedAfter != null) {
+            addClaim(event.getType(), claimedAfter, 1);
+        }
+    }
+
+    private static boolean claimed(ItemSnapshot item) {
+        return item != null && "claimed".equals(item.getStatus())
+                && item.getClaimedAt() != null && item.getCreatedAt() != null;
+    }
+
+    private void addClaim(String type, ItemSnapshot item, long delta) {
+        Date claimedAt = item.getClaimedAt();
+        claimRollupRepository.addCount(day(claimedAt), type, category(item.getCategory()),
+                bucket(claimedAt.getTime() - item.getCreatedAt().getTime()), delta);
+    }
+
+    /**
+     * Recomputes the daily rollups of the last days from the item tables and removes empty rollups
+     * 
+     * Claim rollups are not recomputed: they are kept exact by counting and uncounting claims as they happen.
+     */
+    @Scheduled(cron = "${reports.rollup.compaction-cron:0 30 3 * * *}")
+    @Transactional
+    public void compact() {
+        LocalDate from = LocalDate.now().minusDays(recomputeDays);
+        // Holds back live upserts until the recompute commits, so none lands between the delete and the insert
+        dailyRollupRepository.lockForRecompute();
+        dailyRollupRepository.deleteFromDay(from);
+        dailyRollupRepository.insertFromItems(from);
+        int removed = dailyRollupRepository.deleteEmpty();
+        logger.info("Report rollups compacted from {} ({} empty rollups removed)", from, removed);
+    }
+
+    /**
+     * Gets item counts per period and per category, and the time-to-claim distribution, of a date range
+     * 
+     * @param from the first day
+     * @param to the last day
+     * @param interval "day" or "week" (weeks start on Monday)
+     * @param type the type of items (lost/found), or null for both
+     * @return map with the periods, the categories and the time to claim
+     * @throws IllegalArgumentException if the range or the interval is invalid
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTimeseries(LocalDate from, LocalDate to, String interval, String type) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        boolean weekly = interval.equalsIgnoreCase("week");
+        if (!weekly && !interval.equalsIgnoreCase("day")) {
+            throw new IllegalArgumentException("Interval must be 'day' or 'week'");
+        }
+
+        // Every period of the range, so charts get zeros for empty periods
+        List<LocalDate> periods = new ArrayList<>();
+        for (LocalDate period = period(from, weekly); !period.isAfter(to); period = period.plusDays(weekly ? 7 : 1)) {
+            periods.add(period);
+        }
+
+        Map<LocalDate, PeriodCounts> totals = new TreeMap<>();
+        Map<String, Map<LocalDate, PeriodCounts>> categories = new TreeMap<>();
+        for (ItemDailyRollup rollup : dailyRollupRepository.findByDayBetween(from, to)) {
+            if (type != null && !type.equalsIgnoreCase(rollup.getItemType())) {
+                continue;
+            }
+            LocalDate period = period(rollup.getDay(), weekly);
+            totals.computeIfAbsent(period, p -> new PeriodCounts()).addItems(rollup.getItemType(), rollup.getItemCount());
+            categories.computeIfAbsent(rollup.getCategory(), c -> new TreeMap<>())
+                    .computeIfAbsent(period, p -> new PeriodCounts()).addItems(rollup.getItemType(), rollup.getItemCount());
+        }
+
+        long[] histogram = new long[MAX_BUCKET + 1];
+        for (ItemClaimRollup rollup : claimRollupRepository.findByDayBetween(from, to)) {
+            if (type != null && !type.equalsIgnoreCase(rollup.getItemType())) {
+                continue;
+            }
+            LocalDate period = period(rollup.getDay(), weekly);
+            totals.computeIfAbsent(period, p -> new PeriodCounts()).claimed += rollup.getClaimCount();
+            categories.computeIfAbsent(rollup.getCategory(), c -> new TreeMap<>())
+                    .computeIfAbsent(period, p -> new PeriodCounts()).claimed += rollup.getClaimCount();
+            histogram[rollup.getBucket()] += rollup.getClaimCount();
+        }
+
+        Map<String, Object> categorySeries = new LinkedHashMap<>();
+        categories.forEach((category, counts) -> categorySeries.put(category, series(periods, counts)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("from", from.toString());
+        report.put("to", to.toString());
+        report.put("interval", weekly ? "week" : "day");
+        report.put("periods", series(periods, totals));
+        report.put("categories", categorySeries);
+        report.put("time_to_claim", timeToClaim(histogram));
+        return report;
+    }
+
+    /**
+     * Gets the time-to-claim bucket of a duration
+     * 
+     * @param millis the time between the report and the claim of an item
+     * @return 0 under one hour, otherwise b such that 2^(b-1) <= hours < 2^b, at most MAX_BUCKET
+     */
+    public static int bucket(long millis) {
+        double hours = millis / 3_600_000.0;
+        if (hours < 1) {
+            return 0;
+        }
+        return Math.min(MAX_BUCKET, (int) Math.floor(Math.log(hours) / Math.log(2)) + 1);
+    }
+
+    private static Map<String, Object> timeToClaim(long[] histogram) {
+        long claims = 0;
+        for (long count : histogram) {
+            claims += count;
+        }
+
+        List<Map<String, Object>> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket <= MAX_BUCKET; bucket++) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("min_hours", bucket == 0 ? 0 : 1L << (bucket - 1));
+            entry.put("max_hours", bucket == MAX_BUCKET ? null : 1L << bucket);
+            entry.put("count", histogram[bucket]);
+            buckets.add(entry);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("claims", claims);
+        result.put("median_hours", claims == 0 ? null : medianHours(histogram, claims));
+        result.put("histogram", buckets);
+        return result;
+    }
+
+    // Median interpolated linearly within its bucket
+    private static double medianHours(long[] histogram, long claims) {
+        double half = claims / 2.0;
+        long seen = 0;
+        for (int bucket = 0; bucket <= MAX_BUCKET; bucket++) {
+            if (seen + histogram[bucket] >= half && histogram[bucket] > 0) {
+                double low = bucket == 0 ? 0 : 1L << (bucket - 1);
+                double high = bucket == MAX_BUCKET ? low : 1L << bucket;
+                double median = low + (high - low) * (half - seen) / histogram[bucket];
+                return Math.round(median * 10) / 10.0;
+            }
+            seen += histogram[bucket];
+        }
+        return 1L << (MAX_BUCKET - 1);
+    }
+
+    private static List<Map<String, Object>> series(List<LocalDate> periods, Map<LocalDate, PeriodCounts> counts) {
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (LocalDate period : periods) {
+            PeriodCounts periodCounts = counts.getOrDefault(period, new PeriodCounts());
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("period", period.toString());
+            entry.put("lost", periodCounts.lost);
+            entry.put("found", periodCounts.found);
+            entry.put("claimed", periodCounts.claimed);
+            series.add(entry);
+        }
+        return series;
+    }
+
+    private static boolean sameRollup(ItemSnapshot before, ItemSnapshot after) {
+        return Objects.equals(category(before.getCategory()), category(after.getCategory()))
+                && Objects.equals(before.getStatus(), after.getStatus());
+    }
+
+    private static LocalDate period(LocalDate day, boolean weekly) {
+        return weekly ? day.with(DayOfWeek.MONDAY) : day;
+    }
+
+    // Same day as created_at::date, since timestamps are stored in the JVM time zone
+    private static LocalDate day(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static String category(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class PeriodCounts {
+        private long lost;
+        private long found;
+        private long claimed;
+
+        void addItems(String type, long count) {
+            if (type.equals("lost")) {
+                lost += count;
+            } else {
+                found += count;
+            }
+        }
+    }
+}
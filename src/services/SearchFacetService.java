@@ -0,0 +1,126 @@
+package services;
+
+import entities.FoundItem;
+import entities.LostItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import payloads.request.ItemSearchRequest;
+import repositories.ItemSpecifications;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service computing facet counts (category, status, location, month) of a search
+ * 
+ * All four facets come from one grouped aggregate query per item type: the rows
+ * are counted per (category, status, location, month) combination in the database
+ * and folded into the individual facets here.
+ * 
+ */
+@Service
+public class SearchFacetService {
+
+    private static final int MAX_LOCATION_BUCKETS = 10;
+
+    private static final String UNKNOWN = "unknown";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Counts the results of a search per category, status, location and month
+     * 
+     * @param type the type of items searched (lost/found), or null for both
+     * @param request the search filters
+     * @return map of facet name to counts per value, most frequent first (months newest first)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getFacets(String type, ItemSearchRequest request) {
+        FacetCounts counts = new FacetCounts();
+
+        if (type == null || type.equalsIgnoreCase("lost")) {
+            count(LostItem.class, ItemSpecifications.search(request, "lostDate"), "lostDate", counts);
+        }
+        if (type == null || type.equalsIgnoreCase("found")) {
+            count(FoundItem.class, ItemSpecifications.search(request, "foundDate"), "foundDate", counts);
+        }
+
+        Map<String, Object> facets = new LinkedHashMap<>();
+        facets.put("category", mostFrequentFirst(counts.categories, Integer.MAX_VALUE));
+        facets.put("status", mostFrequentFirst(counts.statuses, Integer.MAX_VALUE));
+        facets.put("location", mostFrequentFirst(counts.locations, MAX_LOCATION_BUCKETS));
+        facets.put("month", newestFirst(counts.months));
+        return facets;
+    }
+
+    private <T> void count(Class<T> entityClass, Specification<T> specification, String dateAttribute,
+                           FacetCounts counts) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+
+        Expression<String> category = cb.lower(root.get("category"));
+        Expression<String> status = root.get("status");
+        Expression<String> location = cb.lower(cb.trim(root.get("location")));
+        Expression<String> month = cb.function("item_month", String.class, root.get(dateAttribute));
+        Expression<Long> total = cb.count(root);
+
+        query.multiselect(category, status, location, month, total);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(category, status, location, month);
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        for (Tuple row : rows) {
+            long rowCount = row.get(total);
+            add(counts.categories, row.get(category), rowCount);
+            add(counts.statuses, row.get(status), rowCount);
+            add(counts.locations, row.get(location), rowCount);
+            add(counts.months, row.get(month), rowCount);
+        }
+    }
+
+    private static void add(Map<String, Long> counts, String value, long count) {
+        counts.merge(value == null || value.isBlank() ? UNKNOWN : value, count, Long::sum);
+    }
+
+    private static Map<String, Long> mostFrequentFirst(Map<String, Long> counts, int limit) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static Map<String, Long> newestFirst(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.reverseOrder()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static class FacetCounts {
+        private final Map<String, Long> categories = new HashMap<>();
+        private final Map<String, Long> statuses = new HashMap<>();
+        private final Map<String, Long> locations = new HashMap<>();
+        private final Map<String, Long> months = new HashMap<>();
+    }
+}
@@ -0,0 +1,249 @@
+package services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import payloads.request.ItemSearchRequest;
+import payloads.response.CursorPage;
+import utils.GeoArea;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of item listing and search result pages
+ * 
+ * Entries are keyed on the normalized (type, filters, cursor, page size) tuple and
+ * weighed by the number of items they hold; the least recently used entries are
+ * dropped once the total weight exceeds the configured maximum. Every item write
+ * evicts exactly the entries whose filters the old or new version of the item
+ * satisfies, so cached pages never outlive a change that could affect them.
+ * 
+ */
+@Component
+public class SearchResultCache {
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long weight;
+
+    // Bumped on every invalidation, so a page loaded concurrently with a write is not cached
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Value("${search.cache.max-weight:5000}")
+    private long maxWeight;
+
+    @Value("${search.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * Gets a result page from the cache, loading and caching it on a miss
+     * 
+     * @param type the type of items (lost/found)
+     * @param request the search filters, or null for an unfiltered listing
+     * @param cursor the page cursor
+     * @param limit the resolved page size
+     * @param loader loads the page from the database
+     * @return the result page
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CursorPage<T> get(String type, ItemSearchRequest request, String cursor, int limit,
+                                 Supplier<CursorPage<T>> loader) {
+        Key key = new Key(type, Filters.of(request), cursor == null ? "" : cursor, limit);
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                return (CursorPage<T>) entry.page;
+            }
+            if (entry != null) {
+                remove(key);
+            }
+        }
+
+        misses.increment();
+        long generation = generation(type).get();
+        CursorPage<T> page = loader.get();
+
+        synchronized (this) {
+            if (generation(type).get() == generation) {
+                Entry previous = entries.put(key, new Entry(page, weigh(page), now + TimeUnit.SECONDS.toMillis(ttlSeconds)));
+                if (previous != null) {
+                    weight -= previous.weight;
+                }
+                weight += weigh(page);
+                evictOverflow();
+            }
+        }
+
+        return page;
+    }
+
+    /**
+     * Evicts the pages that the changed item could appear in, before or after the change
+     * 
+     * @param event the item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        String type = event.getType();
+        generation(type).incrementAndGet();
+
+        synchronized (this) {
+            Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, Entry> entry = iterator.next();
+                Key key = entry.getKey();
+                if (key.type.equals(type)
+                        && (key.filters.couldContain(event.getBefore()) || key.filters.couldContain(event.getAfter()))) {
+                    weight -= entry.getValue().weight;
+                    iterator.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets cache statistics
+     * 
+     * @return map of hit, miss and size metrics
+     */
+    public synchronized Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hit_ratio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("entries", entries.size());
+        stats.put("weight", weight);
+        stats.put("max_weight", maxWeight);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private AtomicLong generation(String type) {
+        return generations.computeIfAbsent(type, t -> new AtomicLong());
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            weight -= iterator.next().weight;
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static long weigh(CursorPage<?> page) {
+        return 1 + page.getItems().size();
+    }
+
+    private record Entry(CursorPage<?> page, long weight, long expiresAt) {
+    }
+
+    private record Key(String type, Filters filters, String cursor, int limit) {
+    }
+
+    /**
+     * Normalized search filters; null fields are not filtered on
+     */
+    private record Filters(boolean listing, String keyword, String location, String category, String status,
+                           Long startDate, Long endDate, GeoArea area) {
+
+        static Filters of(ItemSearchRequest request) {
+            if (request == null) {
+                return new Filters(true, null, null, null, null, null, null, null);
+            }
+            if (request.hasNoFilters()) {
+                // Default search: active items only
+                return new Filters(false, null, null, null, "active", null, null, null);
+            }
+            return new Filters(false,
+                    normalizeKeyword(request.getKeyword()),
+                    normalize(request.getLocation()),
+                    normalize(request.getCategory()),
+                    normalize(request.getStatus()),
+                    time(request.getStartDate()),
+                    time(request.getEndDate()),
+                    request.getArea());
+        }
+
+        /**
+         * Checks whether an item in the given state could be part of the results.
+         * Keyword filters are assumed to match, as full-text stemming is done by the database.
+         */
+        boolean couldContain(ItemSnapshot item) {
+            if (item == null) {
+                return false;
+            }
+            if (listing) {
+                return true;
+            }
+            if (location != null && (item.getLocation() == null
+                    || !item.getLocation().toLowerCase(Locale.ROOT).contains(location))) {
+                return false;
+            }
+            if (category != null && !category.equalsIgnoreCase(Objects.toString(item.getCategory(), ""))) {
+                return false;
+            }
+            if (status != null && !status.equals(item.getStatus())) {
+                return false;
+            }
+            Date itemDate = item.getItemDate();
+            if (startDate != null && (itemDate == null || itemDate.getTime() < startDate)) {
+                return false;
+            }
+            if (endDate != null && (itemDate == null || itemDate.getTime() > endDate)) {
+                return false;
+            }
+            if (area != null && !area.contains(item.getLatitude(), item.getLongitude())) {
+                return false;
+            }
+            return true;
+        }
+
+        // Whitespace between terms does not change a full-text query
+        private static String normalizeKeyword(String keyword) {
+            String value = normalize(keyword);
+            return value == null ? null : value.replaceAll("\\s+", " ");
+        }
+
+        private static String normalize(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private static Long time(Date date) {
+            return date == null ? null : date.getTime();
+        }
+    }
+}
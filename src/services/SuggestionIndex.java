@@ -0,0 +1,504 @@
+package services;
+
+import entities.FoundItem;
+import entities.LostItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import payloads.response.Suggestion;
+import repositories.FoundItemRepository;
+import repositories.LostItemRepository;
+import utils.TextSimilarity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index of item titles, locations and categories, for search-as-you-type
+ * 
+ * Each field has its own trie. A value is inserted under its full text and under the
+ * start of each of its first words, so "main library" is suggested for "lib" too.
+ * Every trie node caches the ids of its most frequent values; a change of count only
+ * marks the nodes on its path dirty, and their cache is recomputed on the next lookup.
+ * 
+ * The index is rebuilt from the repositories at startup and kept current by item
+ * change events. Only active and claimed items are indexed, so pending and rejected
+ * titles are never suggested. The number of distinct values is capped; values past
+ * the cap are not suggested until they can be added.
+ * 
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    public static final List<String> FIELDS = List.of("title", "location", "category");
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    // Suggestions are public, so only moderated items contribute values
+    private static final Set<String> INDEXED_STATUSES = Set.of("active", "claimed");
+
+    private static final int MAX_WORD_STARTS = 4;
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final int[] NO_IDS = new int[0];
+
+    @Autowired
+    private LostItemRepository lostItemRepository;
+
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${suggest.max-entries:50000}")
+    private int maxEntries;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Node> roots = new LinkedHashMap<>();
+    private final List<Entry> entries = new ArrayList<>(); // by id, null for free ids
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private final Map<String, Integer> entryIds = new HashMap<>(); // field + '\0' + normalized value
+    private final Map<Long, int[]> itemEntries = new HashMap<>(); // item key -> ids of its values
+
+    // Keys written by events while the startup rebuild runs; the rebuild must not overwrite them
+    private Set<Long> changedDuringRebuild;
+
+    public SuggestionIndex() {
+        for (String field : FIELDS) {
+            roots.put(field, new Node());
+        }
+    }
+
+    /**
+     * Suggests the most frequent values starting with the prefix
+     * 
+     * @param prefix the text typed so far
+     * @param field the field to suggest values of (title/location/category), or null for all
+     * @param limit the maximum number of suggestions, at most MAX_SUGGESTIONS
+     * @return suggestions, most frequent first
+     */
+    public List<Suggestion> suggest(String prefix, String field, int limit) {
+        String normalized = TextSimilarity.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<String> fields = field == null ? FIELDS : List.of(field);
+
+        lock.readLock().lock();
+        try {
+            if (!needsRecompute(fields, normalized)) {
+                return collect(fields, normalized, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            return collect(fields, normalized, limit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed values and items
+     * 
+     * @return map of statistic name to value
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            return Map.of("values", entryIds.size(), "items", itemEntries.size(), "max_values", maxEntries);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the repositories once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            rebuildFrom(lostItemRepository.streamAllWithUser(), "lost");
+            rebuildFrom(foundItemRepository.streamAllWithUser(), "found");
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        logger.info("Suggestion index built: {}", getStats());
+    }
+
+    /**
+     * Updates the index after an item has been written
+     * 
+     * @param event the item change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        long key = key(event.getType(), event.getItemId());
+        ItemSnapshot after = event.getAction() == ItemChangedEvent.Action.DELETED ? null : event.getAfter();
+
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(key);
+            }
+            setItem(key, after);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildFrom(Stream<?> entities, String type) {
+        try (entities) {
+            Iterator<?> iterator = entities.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                ItemSnapshot item = type.equals("lost")
+                        ? ItemSnapshot.of((LostItem) iterator.next())
+                        : ItemSnapshot.of((FoundItem) iterator.next());
+                long key = key(type, item.getId());
+
+                lock.writeLock().lock();
+                try {
+                    if (!changedDuringRebuild.contains(key)) {
+                        setItem(key, item);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                if (++count % REBUILD_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    // Replaces the values counted for an item; a null item (deleted) or an unmoderated item has none
+    private void setItem(long key, ItemSnapshot item) {
+        int[] previous = itemEntries.remove(key);
+        if (previous != null) {
+            for (int id : previous) {
+                decrement(id);
+            }
+        }
+
+        if (item == null || !INDEXED_STATUSES.contains(item.getStatus())) {
+            return;
+        }
+
+        Set<Integer> ids = new LinkedHashSet<>();
+        addValue(ids, "title", item.getTitle());
+        addValue(ids, "location", item.getLocation());
+        addValue(ids, "category", item.getCategory());
+        if (!ids.isEmpty()) {
+            itemEntries.put(key, ids.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private void addValue(Set<Integer> ids, String field, String value) {
+        String normalized = TextSimilarity.normalize(value);
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        String entryKey = field + '\0' + normalized;
+        Integer id = entryIds.get(entryKey);
+        if (id != null) {
+            if (ids.add(id)) {
+                entries.get(id).count++;
+                markPaths(entries.get(id));
+            }
+            return;
+        }
+        if (entryIds.size() >= maxEntries) {
+            return;
+        }
+
+        int newId = freeIds.isEmpty() ? entries.size() : freeIds.pop();
+        Entry entry = new Entry(newId, field, normalized, value.trim());
+        entry.count = 1;
+        if (newId == entries.size()) {
+            entries.add(entry);
+        } else {
+            entries.set(newId, entry);
+        }
+        entryIds.put(entryKey, newId);
+        ids.add(newId);
+
+        for (String indexKey : indexKeys(normalized)) {
+            insert(roots.get(field), indexKey, newId);
+        }
+    }
+
+    private void decrement(int id) {
+        Entry entry = entries.get(id);
+        entry.count--;
+        if (entry.count > 0) {
+            markPaths(entry);
+            return;
+        }
+
+        for (String indexKey : indexKeys(entry.normalized)) {
+            remove(roots.get(entry.field), indexKey, id);
+        }
+        entryIds.remove(entry.field + '\0' + entry.normalized);
+        entries.set(id, null);
+        freeIds.push(id);
+    }
+
+    // The full value, then the value from the start of each following word
+    private static List<String> indexKeys(String normalized) {
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        int start = normalized.indexOf(' ');
+        while (start >= 0 && keys.size() < MAX_WORD_STARTS) {
+            keys.add(normalized.substring(start + 1));
+            start = normalized.indexOf(' ', start + 1);
+        }
+        return keys;
+    }
+
+    private void markPaths(Entry entry) {
+        for (String indexKey : indexKeys(entry.normalized)) {
+            Node node = roots.get(entry.field);
+            node.dirty = true;
+            for (int i = 0; i < indexKey.length() && node != null; i++) {
+                node = node.child(indexKey.charAt(i));
+                if (node != null) {
+                    node.dirty = true;
+                }
+            }
+        }
+    }
+
+    private static void insert(Node root, String indexKey, int id) {
+        Node node = root;
+        node.dirty = true;
+        for (int i = 0; i < indexKey.length(); i++) {
+            node = node.childOrCreate(indexKey.charAt(i));
+            node.dirty = true;
+        }
+        node.ids = appendId(node.ids, id);
+    }
+
+    private static void remove(Node root, String indexKey, int id) {
+        Node[] path = new Node[indexKey.length() + 1];
+        path[0] = root;
+        root.dirty = true;
+        for (int i = 0; i < indexKey.length(); i++) {
+            path[i + 1] = path[i].child(indexKey.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+            path[i + 1].dirty = true;
+        }
+
+        Node node = path[indexKey.length()];
+        node.ids = removeId(node.ids, id);
+
+        // Prune the nodes left without values or children
+        for (int i = indexKey.length(); i > 0 && path[i].ids.length == 0 && path[i].keys.length == 0; i--) {
+            path[i - 1].removeChild(indexKey.charAt(i - 1));
+        }
+    }
+
+    private boolean needsRecompute(List<String> fields, String prefix) {
+        for (String field : fields) {
+            Node node = find(roots.get(field), prefix);
+            if (node != null && node.dirty) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Suggestion> collect(List<String> fields, String prefix, int limit) {
+        List<Entry> found = new ArrayList<>();
+        for (String field : fields) {
+            Node node = find(roots.get(field), prefix);
+            if (node != null) {
+                for (int id : top(node)) {
+                    found.add(entries.get(id));
+                }
+            }
+        }
+
+        found.sort(ENTRY_ORDER);
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < found.size() && i < limit; i++) {
+            Entry entry = found.get(i);
+            suggestions.add(new Suggestion(entry.text, entry.field, entry.count));
+        }
+        return suggestions;
+    }
+
+    private static Node find(Node root, String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    // Most frequent ids of the subtree, recomputed from the children when dirty
+    private int[] top(Node node) {
+        if (!node.dirty) {
+            return node.top;
+        }
+
+        Set<Integer> candidates = new HashSet<>();
+        for (int id : node.ids) {
+            candidates.add(id);
+        }
+        for (Node child : node.children) {
+            for (int id : top(child)) {
+                candidates.add(id);
+            }
+        }
+
+        node.top = candidates.stream()
+                .map(entries::get)
+                .sorted(ENTRY_ORDER)
+                .limit(MAX_SUGGESTIONS)
+                .mapToInt(entry -> entry.id)
+                .toArray();
+        node.dirty = false;
+        return node.top;
+    }
+
+    private static int[] appendId(int[] ids, int id) {
+        int[] result = Arrays.copyOf(ids, ids.length + 1);
+        result[ids.length] = id;
+        return result;
+    }
+
+    private static int[] removeId(int[] ids, int id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                int[] result = new int[ids.length - 1];
+                System.arraycopy(ids, 0, result, 0, i);
+                System.arraycopy(ids, i + 1, result, i, ids.length - i - 1);
+                return result;
+            }
+        }
+        return ids;
+    }
+
+    private static long key(String type, long id) {
+        return id * 2 + (type.equals("found") ? 1 : 0);
+    }
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator
+            .comparingInt((Entry entry) -> entry.count).reversed()
+            .thenComparing(entry -> entry.normalized);
+
+    private static class Entry {
+        private final int id;
+        private final String field;
+        private final String normalized;
+        private final String text; // as first written
+        private int count;
+
+        Entry(int id, String field, String normalized, String text) {
+            this.id = id;
+            this.field = field;
+            this.normalized = normalized;
+            this.text = text;
+        }
+    }
+
+    // Trie node with children kept in parallel arrays sorted by character
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int[] ids = NO_IDS; // values whose index key ends here
+        private int[] top = NO_IDS;
+        private boolean dirty;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            index = -index - 1;
+            Node child = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = c;
+            newChildren[index] = child;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) {
+                return;
+            }
+
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+}
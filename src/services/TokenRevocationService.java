@@ -0,0 +1,182 @@
+package services;
+
+import entities.RevokedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import repositories.RevokedTokenRepository;
+import utils.BloomFilter;
+import utils.JwtClaims;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service revoking JWT tokens before their expiration
+ * 
+ * Revoked token ids are stored in the database until the tokens expire, and held in
+ * memory as an exact set fronted by a Bloom filter: checking a token that was never
+ * revoked costs one filter probe. Revocations made by other instances are picked up
+ * by a periodic sync, and expired entries are purged by rebuilding the filter.
+ * 
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Revocations committed by other instances may become visible slightly out of order
+    private static final long SYNC_OVERLAP_MS = 60_000;
+
+    // Token id -> token expiration (epoch millis)
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile long lastSync;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${auth.revocation.expected-tokens:100000}")
+    private long expectedTokens;
+
+    @Value("${auth.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /**
+     * Checks whether a token has been revoked
+     * 
+     * @param claims the verified token claims
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(JwtClaims claims) {
+        checks.increment();
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(claims.getTokenId())) {
+            return false;
+        }
+
+        filterHits.increment();
+        if (revoked.containsKey(claims.getTokenId())) {
+            rejected.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Revokes a token until it expires
+     * 
+     * @param claims the verified token claims
+     */
+    @Transactional
+    public void revoke(JwtClaims claims) {
+        Date now = new Date();
+        revokedTokenRepository.insertIfAbsent(claims.getTokenId(), claims.getUserId(), claims.getExpiration(), now);
+        remember(claims.getTokenId(), claims.getExpiration().getTime());
+    }
+
+    /**
+     * Loads the revoked tokens that have not expired yet
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.currentTimeMillis();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(new Date(started))) {
+            revoked.put(token.getTokenId(), token.getExpiresAt().getTime());
+        }
+        rebuildFilter();
+        lastSync = started;
+        logger.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    /**
+     * Picks up the tokens revoked by other instances since the last sync
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval-ms:10000}",
+            initialDelayString = "${auth.revocation.sync-interval-ms:10000}")
+    @Transactional(readOnly = true)
+    public void sync() {
+        if (filter == null) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        try {
+            Date since = new Date(lastSync - SYNC_OVERLAP_MS);
+            for (RevokedToken token : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, new Date(started))) {
+                remember(token.getTokenId(), token.getExpiresAt().getTime());
+            }
+            lastSync = started;
+        } catch (RuntimeException e) {
+            logger.error("Could not sync revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the expired revocations and rebuilds the filter without them
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval-ms:3600000}",
+            initialDelayString = "${auth.revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public void purge() {
+        long now = System.currentTimeMillis();
+        try {
+            int deleted = revokedTokenRepository.deleteExpired(new Date(now));
+            logger.info("Purged {} expired revoked tokens", deleted);
+        } catch (RuntimeException e) {
+            logger.error("Could not purge revoked tokens: {}", e.getMessage());
+        }
+
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        rebuildFilter();
+    }
+
+    /**
+     * Gets the revocation statistics
+     * 
+     * @return map of statistic name to value
+     */
+    public Map<String, Object> getStats() {
+        BloomFilter current = filter;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("revoked_tokens", revoked.size());
+        stats.put("checks", checks.sum());
+        stats.put("filter_hits", filterHits.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("filter_bits", current == null ? 0 : current.getBitCount());
+        stats.put("filter_hashes", current == null ? 0 : current.getHashCount());
+        return stats;
+    }
+
+    // Guarded with the rebuild, so an id added while the filter is rebuilt is never lost
+    private synchronized void remember(String tokenId, long expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(tokenId);
+        }
+    }
+
+    private synchronized void rebuildFilter() {
+        // Sized with headroom, so that revocations until the next purge keep the false positive rate low
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revoked.size() * 2L), falsePositiveRate);
+        for (String tokenId : revoked.keySet()) {
+            rebuilt.add(tokenId);
+        }
+        filter = rebuilt;
+    }
+}
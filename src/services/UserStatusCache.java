@@ -0,0 +1,131 @@
+package services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import repositories.UserRepository;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of whether users may authenticate (they exist and are not banned)
+ * and of the time before which their tokens were revoked
+ * 
+ * Lets the authentication filter build the principal from the token claims without
+ * loading the user on every request. Entries expire after a short TTL and are
+ * invalidated as soon as an admin changes a user's ban status or revokes their tokens.
+ * 
+ */
+@Component
+public class UserStatusCache {
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    // Bumped on every invalidation, so a status loaded concurrently with a change is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${user-status.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${user-status.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    /**
+     * Checks whether a user exists, is not banned and has not had the token revoked
+     * 
+     * @param userId the ID of the user
+     * @param issuedAt the issue time of the user's token
+     * @return true if the user may authenticate with the token
+     */
+    public boolean isAllowed(Long userId, Date issuedAt) {
+        if (userId == null) {
+            return false;
+        }
+
+        Entry entry = get(userId);
+        return entry.allowed && issuedAt.getTime() >= entry.tokensValidAfter;
+    }
+
+    private Entry get(Long userId) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                return entry;
+            }
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        List<Object[]> rows = userRepository.findStatusById(userId);
+        long expiresAt = now + TimeUnit.SECONDS.toMillis(ttlSeconds);
+        Entry entry;
+        if (rows.isEmpty()) {
+            entry = new Entry(false, 0, expiresAt);
+        } else {
+            Date tokensValidAfter = (Date) rows.get(0)[1];
+            entry = new Entry(!(Boolean) rows.get(0)[0],
+                    tokensValidAfter == null ? 0 : tokensValidAfter.getTime(), expiresAt);
+        }
+
+        synchronized (this) {
+            if (generation.get() == loadGeneration) {
+                entries.put(userId, entry);
+                if (entries.size() > maxEntries) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Forgets the cached status of a user, so the next request reads it again
+     * 
+     * @param userId the ID of the user
+     */
+    public void invalidate(Long userId) {
+        synchronized (this) {
+            generation.incrementAndGet();
+            entries.remove(userId);
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Gets the cache statistics
+     * 
+     * @return map of statistic name to value
+     */
+    public synchronized Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hit_ratio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("entries", entries.size());
+        stats.put("max_entries", maxEntries);
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private record Entry(boolean allowed, long tokensValidAfter, long expiresAt) {
+    }
+}
@@ -0,0 +1,83 @@
+package services;
+
+import org.junit.jupiter.api.Test;
+import payloads.response.FuzzySearchHit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuzzySearchIndexTest {
+
+    private final FuzzySearchIndex index = new FuzzySearchIndex();
+
+    @Test
+    void toleratesTypos() {
+        index.onItemChanged(ItemChangedEvent.created(item("lost", 1, "Blue umbrella", "Accessories", "active")));
+
+        List<FuzzySearchHit> hits = index.search("umbrela", null, "active", 10);
+
+        assertEquals(List.of(1L), ids(hits));
+        assertTrue(hits.get(0).getScore() < 1);
+        assertEquals(1.0, index.search("umbrella", null, "active", 10).get(0).getScore());
+    }
+
+    @Test
+    void prunesTermsTooFarFromTheWord() {
+        index.onItemChanged(ItemChangedEvent.created(item("lost", 1, "Car key", "Keys", "active")));
+        index.onItemChanged(ItemChangedEvent.created(item("lost", 2, "Keyboard", "Electronics", "active")));
+
+        // Short words allow one edit, so "keys" reaches "key" but not "keyboard"
+        assertEquals(List.of(1L), ids(index.search("keys", null, "active", 10)));
+        assertEquals(List.of(), ids(index.search("xylophone", null, "active", 10)));
+    }
+
+    @Test
+    void keepsPostingsOfOtherItemsWhenOneIsRemoved() {
+        // Out of order and more than the initial capacity, so postings are inserted in the middle and grown
+        for (long id : new long[] {5, 1, 4, 2, 3}) {
+            index.onItemChanged(ItemChangedEvent.created(item("lost", id, "Black wallet", "Wallets", "active")));
+        }
+        index.onItemChanged(ItemChangedEvent.created(item("found", 3, "Black wallet", "Wallets", "active")));
+
+        index.onItemChanged(ItemChangedEvent.deleted(item("lost", 3, "Black wallet", "Wallets", "active")));
+
+        List<FuzzySearchHit> hits = index.search("wallet", null, "active", 10);
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids(hits));
+        assertEquals(1, hits.stream().filter(hit -> hit.getId() == 3).count());
+        assertEquals("found", hits.stream().filter(hit -> hit.getId() == 3).findFirst().get().getType());
+    }
+
+    @Test
+    void updatesMoveTheItemToItsNewTerms() {
+        ItemSnapshot before = item("lost", 1, "Red scarf", "Clothing", "active");
+        index.onItemChanged(ItemChangedEvent.created(before));
+
+        index.onItemChanged(ItemChangedEvent.updated(before, item("lost", 1, "Green hat", "Clothing", "active")));
+
+        assertEquals(List.of(), ids(index.search("scarf", null, "active", 10)));
+        assertEquals(List.of(1L), ids(index.search("hat", null, "active", 10)));
+        assertEquals(1, index.getStats().get("items"));
+    }
+
+    @Test
+    void filtersOnTypeAndStatus() {
+        index.onItemChanged(ItemChangedEvent.created(item("lost", 1, "Silver ring", "Jewelry", "active")));
+        index.onItemChanged(ItemChangedEvent.created(item("found", 2, "Silver ring", "Jewelry", "active")));
+        index.onItemChanged(ItemChangedEvent.created(item("found", 3, "Silver ring", "Jewelry", "pending")));
+
+        assertEquals(List.of(2L, 1L), ids(index.search("ring", null, "active", 10)));
+        assertEquals(List.of(2L), ids(index.search("ring", "found", "active", 10)));
+        assertEquals(List.of(3L), ids(index.search("ring", "found", "pending", 10)));
+        assertEquals(1, index.search("ring", null, "active", 1).size());
+    }
+
+    private static ItemSnapshot item(String type, long id, String title, String category, String status) {
+        return new ItemSnapshot(type, id, title, "", category, "", null, null, status, null, null, null);
+    }
+
+    private static List<Long> ids(List<FuzzySearchHit> hits) {
+        return hits.stream().map(FuzzySearchHit::getId).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import payloads.request.ItemSearchRequest;
+import payloads.response.CursorPage;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SearchResultCacheTest {
+
+    private final SearchResultCache cache = new SearchResultCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxWeight", 10L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+    }
+
+    @Test
+    void weighsEntriesByTheirItems() {
+        CursorPage<String> page = get("lost", null, "", 2);
+        assertSame(page, get("lost", null, "", 2));
+
+        get("lost", null, "next", 3);
+
+        // One per entry plus one per item
+        assertEquals(7L, cache.getStats().get("weight"));
+        assertEquals(2, cache.getStats().get("entries"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPastTheMaximumWeight() {
+        get("lost", null, "a", 3);
+        get("lost", null, "b", 3);
+        get("lost", null, "a", 3); // "b" is now the least recently used
+
+        get("lost", null, "c", 3);
+
+        assertEquals(8L, cache.getStats().get("weight"));
+        assertEquals(1L, cache.getStats().get("evictions"));
+        get("lost", null, "a", 3);
+        assertEquals(3, loads.get());
+        get("lost", null, "b", 3);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void releasesTheWeightOfExpiredEntries() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+
+        get("lost", null, "", 4);
+        get("lost", null, "", 4);
+
+        assertEquals(2, loads.get());
+        assertEquals(5L, cache.getStats().get("weight"));
+        assertEquals(1, cache.getStats().get("entries"));
+    }
+
+    @Test
+    void invalidatesOnlyPagesTheItemCouldAppearIn() {
+        get("lost", search("electronics"), "", 2);
+        get("lost", search("clothing"), "", 2);
+        get("found", search("electronics"), "", 2);
+
+        cache.onItemChanged(ItemChangedEvent.created(item("lost", "Electronics")));
+
+        assertEquals(6L, cache.getStats().get("weight"));
+        assertEquals(1L, cache.getStats().get("invalidations"));
+        get("lost", search("clothing"), "", 2);
+        get("found", search("electronics"), "", 2);
+        assertEquals(3, loads.get());
+        get("lost", search("electronics"), "", 2);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void doesNotCachePagesLoadedDuringAWrite() {
+        cache.get("lost", null, "", 20, () -> {
+            loads.incrementAndGet();
+            // The write lands after the page was read, so the page may already be stale
+            cache.onItemChanged(ItemChangedEvent.created(item("lost", "Keys")));
+            return page(1);
+        });
+
+        assertEquals(0, cache.getStats().get("entries"));
+        assertEquals(0L, cache.getStats().get("weight"));
+
+        // A write to the other type does not invalidate this one
+        cache.get("lost", null, "", 20, () -> {
+            loads.incrementAndGet();
+            cache.onItemChanged(ItemChangedEvent.created(item("found", "Keys")));
+            return page(1);
+        });
+        assertEquals(1, cache.getStats().get("entries"));
+    }
+
+    private CursorPage<String> get(String type, ItemSearchRequest request, String cursor, int items) {
+        return cache.get(type, request, cursor, 20, () -> {
+            loads.incrementAndGet();
+            return page(items);
+        });
+    }
+
+    private static CursorPage<String> page(int items) {
+        return new CursorPage<>(Collections.nCopies(items, "item"), null);
+    }
+
+    private static ItemSearchRequest search(String category) {
+        ItemSearchRequest request = new ItemSearchRequest();
+        request.setCategory(category);
+        return request;
+    }
+
+    private static ItemSnapshot item(String type, String category) {
+        return new ItemSnapshot(type, 1L, "Item", "", category, "", null, null, "active", null, null, null);
+    }
+}
@@ -0,0 +1,107 @@
+package services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import payloads.response.Suggestion;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestionIndexTest {
+
+    private final SuggestionIndex index = new SuggestionIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "maxEntries", 100);
+    }
+
+    @Test
+    void suggestsMostFrequentValuesFirst() {
+        add("lost", 1, "Main Library");
+        add("lost", 2, "Main Library");
+        add("found", 3, "Main Hall");
+
+        assertEquals(List.of("Main Library:2", "Main Hall:1"), texts(index.suggest("main", "location", 10)));
+        // Word starts are indexed too
+        assertEquals(List.of("Main Library:2"), texts(index.suggest("lib", "location", 10)));
+    }
+
+    @Test
+    void recomputesCachedTopAfterCountsChange() {
+        add("lost", 1, "Cafeteria");
+        add("lost", 2, "Campus gym");
+        add("lost", 3, "Campus gym");
+        // Caches the top values of "c" and of its subtree
+        assertEquals(List.of("Campus gym:2", "Cafeteria:1"), texts(index.suggest("c", "location", 10)));
+        assertEquals(List.of("Campus gym:2"), texts(index.suggest("cam", "location", 10)));
+
+        // A change below "caf" must mark every node above it dirty, up to the root
+        add("lost", 4, "Cafeteria");
+        add("lost", 5, "Cafeteria");
+        assertEquals(List.of("Cafeteria:3", "Campus gym:2"), texts(index.suggest("c", "location", 10)));
+
+        // Moving an item away decrements its old value and marks that path dirty as well
+        move("lost", 2, "Campus gym", "Cafeteria");
+        assertEquals(List.of("Cafeteria:4", "Campus gym:1"), texts(index.suggest("ca", "location", 10)));
+        assertEquals(List.of("Campus gym:1"), texts(index.suggest("cam", "location", 10)));
+    }
+
+    @Test
+    void removesValuesNoItemHasAnyMore() {
+        add("lost", 1, "Parking lot");
+
+        index.onItemChanged(ItemChangedEvent.deleted(item("lost", 1, "Parking lot", "active")));
+
+        assertEquals(List.of(), index.suggest("park", "location", 10));
+        assertEquals(0, index.getStats().get("values"));
+        assertEquals(0, index.getStats().get("items"));
+    }
+
+    @Test
+    void suggestsOnlyModeratedItems() {
+        ItemSnapshot pending = item("lost", 1, "Stadium", "pending");
+        index.onItemChanged(ItemChangedEvent.created(pending));
+        assertEquals(List.of(), index.suggest("stad", null, 10));
+
+        ItemSnapshot active = item("lost", 1, "Stadium", "active");
+        index.onItemChanged(ItemChangedEvent.updated(pending, active));
+        assertEquals(List.of("Stadium:1"), texts(index.suggest("stad", "location", 10)));
+
+        ItemSnapshot claimed = item("lost", 1, "Stadium", "claimed");
+        index.onItemChanged(ItemChangedEvent.updated(active, claimed));
+        assertEquals(List.of("Stadium:1"), texts(index.suggest("stad", "location", 10)));
+
+        index.onItemChanged(ItemChangedEvent.updated(claimed, item("lost", 1, "Stadium", "rejected")));
+        assertEquals(List.of(), index.suggest("stad", null, 10));
+        assertEquals(0, index.getStats().get("items"));
+    }
+
+    @Test
+    void stopsAddingValuesAtTheCap() {
+        ReflectionTestUtils.setField(index, "maxEntries", 3);
+        add("lost", 1, "Gate A"); // title, location and category: 3 values
+
+        add("lost", 2, "Gate B");
+
+        assertEquals(List.of("Gate A:1"), texts(index.suggest("gate", "location", 10)));
+    }
+
+    private void add(String type, long id, String location) {
+        index.onItemChanged(ItemChangedEvent.created(item(type, id, location, "active")));
+    }
+
+    private void move(String type, long id, String from, String to) {
+        index.onItemChanged(ItemChangedEvent.updated(item(type, id, from, "active"), item(type, id, to, "active")));
+    }
+
+    private static ItemSnapshot item(String type, long id, String location, String status) {
+        return new ItemSnapshot(type, id, "Umbrella", "", "Accessories", location, null, null, status, null, null, null);
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(suggestion -> suggestion.getText() + ":" + suggestion.getCount()).toList();
+    }
+}
@@ -0,0 +1,117 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void allowsTheBurstThenRejects() {
+        // 60 per minute: one request per second, 3 at once
+        RateLimiter limiter = new RateLimiter(60, 3, 100, false, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+        long wait = limiter.tryAcquire("a");
+        assertTrue(wait > 0 && wait <= SECOND, "wait was " + wait);
+    }
+
+    @Test
+    void keysAreLimitedSeparately() {
+        RateLimiter limiter = new RateLimiter(60, 1, 100, false, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void refillsAtTheSustainedRate() {
+        RateLimiter limiter = new RateLimiter(60, 3, 100, false, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        // One emission interval frees exactly one request
+        clock.addAndGet(SECOND);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        // A long idle period refills the burst but no more
+        clock.addAndGet(60 * SECOND);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void rejectedRequestsAreNotRecorded() {
+        RateLimiter limiter = new RateLimiter(60, 1, 100, false, clock::get);
+        limiter.tryAcquire("a");
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        clock.addAndGet(SECOND);
+        assertEquals(0, limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void evictsOnlyKeysWithAFullBucket() {
+        RateLimiter limiter = new RateLimiter(60, 3, 100, false, clock::get);
+        limiter.tryAcquire("idle");
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("busy");
+        }
+
+        // "idle" is full again after one interval, "busy" needs three
+        clock.addAndGet(SECOND);
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+
+        clock.addAndGet(2 * SECOND);
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void rejectsNewKeysWhenFullUntilEviction() {
+        RateLimiter limiter = new RateLimiter(60, 1, 2, false, clock::get);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        assertEquals(SECOND, limiter.tryAcquire("c"));
+        assertEquals(2, limiter.size());
+
+        clock.addAndGet(SECOND);
+        assertEquals(2, limiter.evictIdle());
+        assertEquals(0, limiter.tryAcquire("c"));
+    }
+
+    @Test
+    void sharesOneBucketBetweenNewKeysWhenFull() {
+        RateLimiter limiter = new RateLimiter(60, 2, 1, true, clock::get);
+        assertEquals(0, limiter.tryAcquire("a"));
+
+        // "b" and "c" are not tracked and draw from the same overflow bucket
+        assertEquals(0, limiter.tryAcquire("b"));
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertTrue(limiter.tryAcquire("d") > 0);
+        assertEquals(1, limiter.size());
+
+        // The tracked key keeps its own bucket
+        assertEquals(0, limiter.tryAcquire("a"));
+    }
+}
@@ -0,0 +1,117 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of CSV records (RFC 4180)
+ * 
+ * Fields are separated by commas and may be quoted; quoted fields can contain commas,
+ * line breaks and doubled quotes. Only the current record is held in memory.
+ * 
+ */
+public final class CsvReader {
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private int pending = -2; // next character, -2 if not read yet
+    private long line = 1;
+
+    /**
+     * Creates a reader
+     * 
+     * @param reader the character source, buffered by the caller
+     * @param maxFieldLength the maximum number of characters in a field
+     */
+    public CsvReader(Reader reader, int maxFieldLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Reads the next record
+     * 
+     * @return the fields of the record, or null at the end of the input
+     * @throws IOException if reading fails or a field is malformed or too long; the
+     *         reader cannot be used after that
+     */
+    public List<String> readRecord() throws IOException {
+        int c = next();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = next();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                if (c == '\n') {
+                    line++;
+                }
+                append(field, c);
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    next();
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                append(field, c);
+            }
+            c = next();
+        }
+    }
+
+    /**
+     * Gets the line the next record starts on
+     * 
+     * @return the 1-based line number
+     */
+    public long getLine() {
+        return line;
+    }
+
+    private void append(StringBuilder field, int c) throws IOException {
+        if (field.length() >= maxFieldLength) {
+            throw new IOException("Field longer than " + maxFieldLength + " characters");
+        }
+        field.append((char) c);
+    }
+
+    private int next() throws IOException {
+        int c = pending == -2 ? reader.read() : pending;
+        pending = -2;
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (pending == -2) {
+            pending = reader.read();
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,121 @@
+package utils;
+
+import entities.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+import payloads.response.CursorPage;
+import repositories.ItemSpecifications;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset pagination over item repositories
+ * 
+ * Pages are ordered by (createdAt, id) descending and fetched with a seek
+ * predicate instead of an OFFSET, so every page costs the same as the first.
+ * Full-text searches are ordered by (rank, id) descending instead, the same way.
+ * 
+ */
+@Component
+public class CursorPagination {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * Resolves the page size requested by a client
+     * 
+     * @param limit the requested page size, or null for the default
+     * @return the page size, capped at the configured maximum
+     */
+    public int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Fetches the page of items after the cursor
+     * 
+     * @param repository the item repository
+     * @param specification the filters to apply
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return the page of items and the cursor of the next page
+     */
+    public <T extends Item> CursorPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                                String cursor, Integer limit) {
+        int pageSize = resolveLimit(limit);
+        PageCursor position = PageCursor.decode(cursor);
+
+        Specification<T> seek = position == null ? specification : specification.and(ItemSpecifications.after(position));
+
+        // One extra row tells whether there is a next page without a count query
+        List<T> rows = repository.findBy(seek, query -> query.sortBy(NEWEST_FIRST).limit(pageSize + 1).all());
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<T> items = new ArrayList<>(rows.subList(0, pageSize));
+        return new CursorPage<>(items, PageCursor.after(items.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Fetches the page of full-text search results after the cursor, most relevant first
+     * 
+     * @param type the item entity class
+     * @param specification the filters to apply, including the keyword match
+     * @param keyword the search terms to rank by
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return the page of results with their rank and the cursor of the next page
+     */
+    public <T extends Item> CursorPage<Ranked<T>> fetchByRelevance(Class<T> type, Specification<T> specification,
+                                                                   String keyword, String cursor, Integer limit) {
+        int pageSize = resolveLimit(limit);
+        RankCursor position = RankCursor.decode(cursor);
+
+        Specification<T> seek = position == null
+                ? specification : specification.and(ItemSpecifications.rankedAfter(keyword, position));
+
+        // The rank is selected next to the item, so the cursor of the next page can carry it
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        Expression<Double> rank = ItemSpecifications.rank(root, cb, keyword);
+        query.multiselect(root, rank)
+                .where(seek.toPredicate(root, query, cb))
+                .orderBy(cb.desc(rank), cb.desc(root.get("id")));
+
+        // One extra row tells whether there is a next page without a count query
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(pageSize + 1).getResultList();
+
+        List<Ranked<T>> results = new ArrayList<>();
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            results.add(new Ranked<>(rows.get(i).get(0, type), rows.get(i).get(1, Double.class)));
+        }
+        String nextCursor = rows.size() > pageSize ? RankCursor.after(results.get(pageSize - 1)).encode() : null;
+        return new CursorPage<>(results, nextCursor);
+    }
+}
@@ -0,0 +1,129 @@
+package utils;
+
+/**
+ * Geographic search area: a bounding box, optionally narrowed to a circle around a point
+ * 
+ * Distances use an equirectangular approximation, accurate to well under a percent
+ * at the scale of a campus or a city.
+ * 
+ * @param south minimum latitude
+ * @param west minimum longitude
+ * @param north maximum latitude
+ * @param east maximum longitude
+ * @param latitude latitude of the circle center, or null for a plain box
+ * @param longitude longitude of the circle center, or null for a plain box
+ * @param radius radius of the circle in meters, or null for a plain box
+ */
+public record GeoArea(double south, double west, double north, double east,
+                      Double latitude, Double longitude, Double radius) {
+
+    /** Meters per degree of latitude */
+    public static final double METERS_PER_DEGREE = 111_320;
+
+    /** Largest accepted radius, in meters */
+    public static final double MAX_RADIUS = 50_000;
+
+    /**
+     * Creates a circular area
+     * 
+     * @param latitude latitude of the center
+     * @param longitude longitude of the center
+     * @param radius radius in meters
+     * @return the area
+     * @throws IllegalArgumentException if the center or the radius is invalid
+     */
+    public static GeoArea around(double latitude, double longitude, double radius) {
+        GeoGrid.checkCoordinates(latitude, longitude);
+        if (!(radius > 0 && radius <= MAX_RADIUS)) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + (int) MAX_RADIUS + " meters");
+        }
+
+        double latitudeDelta = radius / METERS_PER_DEGREE;
+        double longitudeDelta = latitudeDelta / longitudeScale(latitude);
+        return new GeoArea(
+                Math.max(-90, latitude - latitudeDelta), Math.max(-180, longitude - longitudeDelta),
+                Math.min(90, latitude + latitudeDelta), Math.min(180, longitude + longitudeDelta),
+                latitude, longitude, radius);
+    }
+
+    /**
+     * Parses a bounding box written "south,west,north,east"
+     * 
+     * @param box the bounding box
+     * @return the area
+     * @throws IllegalArgumentException if the box is malformed
+     */
+    public static GeoArea parseBox(String box) {
+        String[] parts = box.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Bounding box must be 'south,west,north,east'");
+        }
+
+        double[] values = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                values[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bounding box must be 'south,west,north,east'");
+        }
+
+        GeoGrid.checkCoordinates(values[0], values[1]);
+        GeoGrid.checkCoordinates(values[2], values[3]);
+        if (values[0] > values[2] || values[1] > values[3]) {
+            throw new IllegalArgumentException("Bounding box south/west must not exceed north/east");
+        }
+        return new GeoArea(values[0], values[1], values[2], values[3], null, null, null);
+    }
+
+    /**
+     * Checks whether the area has a circle around a point
+     * 
+     * @return true for a radius search
+     */
+    public boolean isCircle() {
+        return radius != null;
+    }
+
+    /**
+     * Checks whether a point lies in the area
+     * 
+     * @param pointLatitude the latitude, or null
+     * @param pointLongitude the longitude, or null
+     * @return true if the point has coordinates and lies in the area
+     */
+    public boolean contains(Double pointLatitude, Double pointLongitude) {
+        if (pointLatitude == null || pointLongitude == null) {
+            return false;
+        }
+        if (pointLatitude < south || pointLatitude > north || pointLongitude < west || pointLongitude > east) {
+            return false;
+        }
+        if (!isCircle()) {
+            return true;
+        }
+
+        double x = (pointLongitude - longitude) * longitudeScale(latitude);
+        double y = pointLatitude - latitude;
+        return x * x + y * y <= radiusDegrees() * radiusDegrees();
+    }
+
+    /**
+     * Gets the radius in degrees of latitude
+     * 
+     * @return the radius in degrees
+     */
+    public double radiusDegrees() {
+        return radius / METERS_PER_DEGREE;
+    }
+
+    /**
+     * Gets the length of a degree of longitude relative to a degree of latitude, at a latitude
+     * 
+     * @param latitude the latitude
+     * @return cos(latitude), kept away from 0 near the poles
+     */
+    public static double longitudeScale(double latitude) {
+        return Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+    }
+}
@@ -0,0 +1,89 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed latitude/longitude grid used as a spatial index for item coordinates
+ * 
+ * Each item with coordinates stores the id of its grid cell (indexed column grid_cell),
+ * so an area search only reads the rows of the cells overlapping the area.
+ * 
+ */
+public final class GeoGrid {
+
+    /** Size of a cell in degrees, about 550 m of latitude */
+    public static final double CELL_DEGREES = 0.005;
+
+    /** Above this number of cells, area searches use the bounding box alone */
+    public static final int MAX_QUERY_CELLS = 400;
+
+    private static final long LONGITUDE_CELLS = (long) Math.ceil(360 / CELL_DEGREES);
+
+    private GeoGrid() {
+    }
+
+    /**
+     * Gets the cell containing a point
+     * 
+     * @param latitude the latitude, or null
+     * @param longitude the longitude, or null
+     * @return the cell id, or null if the point has no coordinates
+     */
+    public static Long cellOf(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return row(latitude) * LONGITUDE_CELLS + column(longitude);
+    }
+
+    /**
+     * Gets the cells overlapping an area
+     * 
+     * @param area the area
+     * @return the cell ids, or null if the area spans more than MAX_QUERY_CELLS cells
+     */
+    public static List<Long> cellsCovering(GeoArea area) {
+        long firstRow = row(area.south());
+        long lastRow = row(area.north());
+        long firstColumn = column(area.west());
+        long lastColumn = column(area.east());
+
+        if ((lastRow - firstRow + 1) * (lastColumn - firstColumn + 1) > MAX_QUERY_CELLS) {
+            return null;
+        }
+
+        List<Long> cells = new ArrayList<>();
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                cells.add(row * LONGITUDE_CELLS + column);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Checks that coordinates are either both set and in range, or both missing
+     * 
+     * @param latitude the latitude, or null
+     * @param longitude the longitude, or null
+     * @throws IllegalArgumentException if the coordinates are invalid
+     */
+    public static void checkCoordinates(Double latitude, Double longitude) {
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be set together");
+        }
+        // Written as negated ranges so that NaN, which fails every comparison, is rejected too
+        if (latitude != null && !(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+    }
+
+    private static long row(double latitude) {
+        return (long) Math.floor((Math.min(latitude, 90 - 1e-9) + 90) / CELL_DEGREES);
+    }
+
+    private static long column(double longitude) {
+        return (long) Math.floor((Math.min(longitude, 180 - 1e-9) + 180) / CELL_DEGREES);
+    }
+}
@@ -0,0 +1,43 @@
+package utils;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Authentication of a request carrying a valid JWT token, with its verified claims
+ * 
+ * Controllers get the claims with
+ * {@code @CurrentSecurityContext(expression = "authentication.claims") JwtClaims claims}.
+ * 
+ */
+public class JwtAuthenticationToken extends AbstractAuthenticationToken {
+    private static final long serialVersionUID = 1L;
+
+    private final UserDetails principal;
+    private final JwtClaims claims;
+
+    public JwtAuthenticationToken(UserDetails principal, JwtClaims claims,
+                                  Collection<? extends GrantedAuthority> authorities) {
+        super(authorities);
+        this.principal = principal;
+        this.claims = claims;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public UserDetails getPrincipal() {
+        return principal;
+    }
+
+    public JwtClaims getClaims() {
+        return claims;
+    }
+}
@@ -0,0 +1,42 @@
+package utils;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * Verified claims of a JWT token
+ * 
+ * Produced once per request by the authentication filter and carried by the
+ * authentication in the security context, so the token is never parsed again.
+ * 
+ */
+@Value
+public class JwtClaims {
+    String tokenId;
+    String sessionId;
+    Long userId;
+    String email;
+    boolean admin;
+    Date issuedAt;
+    Date expiration;
+
+    /**
+     * Reads the claims of a verified token
+     * 
+     * @param claims the token payload
+     * @return the claims
+     */
+    public static JwtClaims of(Claims claims) {
+        Boolean admin = claims.get("isAdmin", Boolean.class);
+        return new JwtClaims(
+                claims.getId(),
+                claims.get("sid", String.class),
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                admin != null && admin,
+                claims.getIssuedAt(),
+                claims.getExpiration());
+    }
+}
@@ -1,22 +1,32 @@
 package utils;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.ProtectedHeader;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Utility class for JWT operations
@@ -26,104 +36,126 @@ import java.util.Map;
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final String DEFAULT_KEY_ID = "default";
+
+    // Legacy single key; verifies tokens issued without a key id, and signs when no key ring is configured
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expirationMs}")
     private int jwtExpirationMs;
 
+    @Value("${jwt.active-key-id:}")
+    private String activeKeyId;
+
+    @Autowired
+    private Environment environment;
+
+    // Key ring by key id (kid header), derived once from the secrets; the parser is immutable and thread-safe
+    private Map<String, SecretKey> keys;
+    private SecretKey legacyKey;
+    private String signingKeyId;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        legacyKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+
+        // jwt.keys.<kid>=<secret>; keys are rotated by adding a new one, making it active, and
+        // removing the old one once the tokens signed with it have expired
+        Map<String, String> secrets = Binder.get(environment)
+                .bind("jwt.keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        keys = new HashMap<>();
+        secrets.forEach((kid, secret) -> keys.put(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+        if (keys.isEmpty()) {
+            keys.put(DEFAULT_KEY_ID, legacyKey);
+        }
+
+        signingKeyId = StringUtils.hasText(activeKeyId) ? activeKeyId
+                : keys.size() == 1 ? keys.keySet().iterator().next() : null;
+        if (signingKeyId == null || !keys.containsKey(signingKeyId)) {
+            throw new IllegalStateException("jwt.active-key-id must name one of the jwt.keys");
+        }
+
+        parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(ProtectedHeader header) {
+                String kid = header.getKeyId();
+                if (kid == null) {
+                    return legacyKey;
+                }
+                SecretKey key = keys.get(kid);
+                if (key == null) {
+                    throw new UnsupportedJwtException("Unknown key id: " + kid);
+                }
+                return key;
+            }
+        }).build();
+    }
+
     /**
-     * Generates a JWT token for authenticated user
+     * Generates a short-lived access token for a user
      *
-     * @param authentication the authentication object
+     * @param userPrincipal the user
+     * @param sessionId the session (refresh token family) the token belongs to
      * @return the JWT token
      */
-    public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
-        
+    public String generateJwtToken(UserDetailsImpl userPrincipal, String sessionId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userPrincipal.getId());
         claims.put("email", userPrincipal.getUsername());
         claims.put("isAdmin", userPrincipal.isAdmin());
+        claims.put("sid", sessionId);
 
+        Date now = new Date();
         return Jwts.builder()
+                .header().keyId(signingKeyId).and()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(userPrincipal.getUsername())
-                .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), Jwts.SIG.HS256)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(keys.get(signingKeyId), Jwts.SIG.HS256)
                 .compact();
     }
-    
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-    }
 
     /**
-     * Gets the username from JWT token
+     * Gets the lifetime of access tokens
      *
-     * @param token the JWT token
-     * @return the username
-     */
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
-    }
-    
-    /**
-     * Gets the user ID from JWT token
-     *
-     * @param token the JWT token
-     * @return the user ID
+     * @return the lifetime in milliseconds
      */
-    public Long getUserIdFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("userId", Long.class);
+    public int getExpirationMs() {
+        return jwtExpirationMs;
     }
     
     /**
-     * Checks if user is admin from JWT token
+     * Parses and verifies a JWT token
      *
      * @param token the JWT token
-     * @return true if user is admin
-     */
-    public boolean isAdminFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("isAdmin", Boolean.class);
-    }
-
-    /**
-     * Validates a JWT token
-     *
-     * @param authToken the JWT token
-     * @return true if token is valid
+     * @return the verified claims, or null if the token is invalid or expired
      */
-    public boolean validateJwtToken(String authToken) {
+    public JwtClaims parseJwtToken(String token) {
         try {
-            Jwts.parser().verifyWith(key()).build().parseSignedClaims(authToken);
-            return true;
+            JwtClaims claims = JwtClaims.of(parser.parseSignedClaims(token).getPayload());
+            // Tokens without an id or issue time could not be revoked
+            if (claims.getTokenId() == null || claims.getIssuedAt() == null) {
+                logger.error("JWT token has no id or issue time");
+                return null;
+            }
+            return claims;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
     }
 }
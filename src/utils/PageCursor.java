@@ -0,0 +1,154 @@
+package utils;
+
+import entities.Item;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Position in a list of items ordered by (createdAt, id) descending
+ * 
+ * Cursors are handed to clients as opaque URL-safe strings. A combined cursor
+ * tracks several independent item streams (e.g. lost and found) in one string.
+ * 
+ */
+public final class PageCursor {
+    private static final String EXHAUSTED = "end";
+    private static final String SEPARATOR = "|";
+
+    private final Date createdAt;
+    private final Long id;
+
+    private PageCursor(Date createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * Creates the cursor pointing just after the given item
+     * 
+     * @param item the last item of a page
+     * @return cursor of the next page
+     * @throws IllegalArgumentException if the item has no creation date
+     */
+    public static PageCursor after(Item item) {
+        if (item.getCreatedAt() == null) {
+            throw new IllegalArgumentException("Cannot paginate past item " + item.getId() + " without a creation date");
+        }
+        return new PageCursor(item.getCreatedAt(), item.getId());
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Encodes the cursor as an opaque string
+     * 
+     * @return the encoded cursor
+     */
+    public String encode() {
+        // created_at is TIMESTAMP(6): loaded dates are Timestamps carrying the microseconds, which
+        // milliseconds would drop, skipping or repeating items created within the same millisecond
+        Instant instant = createdAt.toInstant();
+        return encodeText(instant.getEpochSecond() + ":" + instant.getNano() + ":" + id);
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}
+     * 
+     * @param token the encoded cursor, or null/blank for the first page
+     * @return the cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String[] parts = decodeText(token).split(":");
+            if (parts.length == 2) {
+                // Cursors handed out before the timestamp was encoded in full, in milliseconds
+                return new PageCursor(new Date(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+            }
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new PageCursor(Timestamp.from(createdAt), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Combines the cursors of several item streams into one opaque string
+     * 
+     * @param tokens cursor of each stream; "" for a stream still at its start, null for an exhausted stream
+     * @return the combined cursor, or null if every stream is exhausted
+     */
+    public static String combine(List<String> tokens) {
+        if (tokens.stream().allMatch(token -> token == null)) {
+            return null;
+        }
+
+        List<String> parts = new ArrayList<>();
+        for (String token : tokens) {
+            parts.add(token == null ? EXHAUSTED : token);
+        }
+        return encodeText(String.join(SEPARATOR, parts));
+    }
+
+    /**
+     * Splits a combined cursor into the cursor of each stream
+     * 
+     * @param token the combined cursor, or null/blank for the first page
+     * @param streams the number of streams
+     * @return cursor of each stream; "" for a stream at its start, null for an exhausted stream
+     * @throws IllegalArgumentException if the token is not a valid combined cursor
+     */
+    public static List<String> split(String token, int streams) {
+        List<String> tokens = new ArrayList<>();
+
+        if (token == null || token.isBlank()) {
+            for (int i = 0; i < streams; i++) {
+                tokens.add("");
+            }
+            return tokens;
+        }
+
+        String[] parts;
+        try {
+            parts = decodeText(token).split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != streams) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        for (String part : parts) {
+            tokens.add(EXHAUSTED.equals(part) ? null : part);
+        }
+        return tokens;
+    }
+
+    static String encodeText(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodeText(String token) {
+        return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package utils;
+
+import entities.Item;
+
+/**
+ * Position in a list of full-text search results ordered by (rank, id) descending
+ * 
+ * Encoded like {@link PageCursor}, as an opaque URL-safe string, and combined with
+ * {@link PageCursor#combine(java.util.List)} when several item streams are merged.
+ * 
+ */
+public final class RankCursor {
+    private static final String PREFIX = "r";
+
+    private final double rank;
+    private final Long id;
+
+    private RankCursor(double rank, Long id) {
+        this.rank = rank;
+        this.id = id;
+    }
+
+    /**
+     * Creates the cursor pointing just after the given result
+     * 
+     * @param result the last result of a page
+     * @return cursor of the next page
+     */
+    public static RankCursor after(Ranked<? extends Item> result) {
+        return new RankCursor(result.rank(), result.item().getId());
+    }
+
+    public double getRank() {
+        return rank;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Encodes the cursor as an opaque string
+     * 
+     * @return the encoded cursor
+     */
+    public String encode() {
+        // Double.toString round-trips, so the decoded rank compares equal to the database's
+        return PageCursor.encodeText(PREFIX + ":" + rank + ":" + id);
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}
+     * 
+     * @param token the encoded cursor, or null/blank for the first page
+     * @return the cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static RankCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String[] parts = PageCursor.decodeText(token).split(":");
+            if (parts.length != 3 || !parts[0].equals(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            double rank = Double.parseDouble(parts[1]);
+            if (!Double.isFinite(rank)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new RankCursor(rank, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package utils;
+
+/**
+ * Item returned by a full-text search, with the relevance it was ordered by
+ * 
+ * @param item the item
+ * @param rank the full-text rank of the item, higher first
+ */
+public record Ranked<T>(T item, double rank) {
+}
@@ -0,0 +1,105 @@
+package utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free rate limiter keyed by string, using the generic cell rate algorithm (GCRA)
+ * 
+ * Equivalent to a token bucket per key, but stores a single timestamp per key (the
+ * theoretical arrival time of the next request), updated with compare-and-set. A key
+ * whose bucket is full again carries no information and is dropped by {@link #evictIdle()};
+ * once the configured number of keys is tracked, new keys are either refused or share a
+ * single overflow bucket until idle keys are evicted, so flooding the limiter with keys
+ * cannot switch it off.
+ * 
+ */
+public final class RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final AtomicLong overflow; // null when new keys are refused once full
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates a limiter
+     * 
+     * @param requestsPerMinute the sustained rate allowed per key
+     * @param burst the number of requests a key may make at once after being idle
+     * @param maxKeys the maximum number of keys tracked at a time
+     * @param shareOverflow whether untracked keys share one bucket once full, instead of being refused
+     */
+    public RateLimiter(int requestsPerMinute, int burst, int maxKeys, boolean shareOverflow) {
+        this(requestsPerMinute, burst, maxKeys, shareOverflow, System::nanoTime);
+    }
+
+    RateLimiter(int requestsPerMinute, int burst, int maxKeys, boolean shareOverflow, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+        this.maxKeys = maxKeys;
+        this.overflow = shareOverflow ? new AtomicLong(Long.MIN_VALUE) : null;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Records a request of a key if its rate allows it
+     * 
+     * @param key the key (client address, account)
+     * @return 0 if the request is allowed, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(String key) {
+        AtomicLong arrival = arrivals.get(key);
+        if (arrival == null) {
+            if (arrivals.size() >= maxKeys) {
+                // The key cannot be tracked until the next eviction makes room
+                return overflow == null ? emissionIntervalNanos : acquire(overflow);
+            }
+            arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        return acquire(arrival);
+    }
+
+    private long acquire(AtomicLong arrival) {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long stored = arrival.get();
+            long tat = stored == Long.MIN_VALUE || stored - now < 0 ? now : stored;
+            long wait = tat - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(stored, tat + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the keys whose bucket is full again
+     * 
+     * @return the number of dropped keys
+     */
+    public int evictIdle() {
+        // A request racing with the removal of its key may go unrecorded; it lands on a full bucket anyway
+        long now = nanoClock.getAsLong();
+        int before = arrivals.size();
+        arrivals.values().removeIf(arrival -> {
+            long stored = arrival.get();
+            return stored == Long.MIN_VALUE || stored - now <= 0;
+        });
+        return Math.max(0, before - arrivals.size());
+    }
+
+    /**
+     * Gets the number of tracked keys
+     * 
+     * @return the number of keys
+     */
+    public int size() {
+        return arrivals.size();
+    }
+}
@@ -0,0 +1,135 @@
+package utils;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Utility methods for comparing short free-text fields (titles, descriptions, locations)
+ * 
+ */
+public final class TextSimilarity {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "at", "by", "for", "from", "in", "is", "it", "my", "near", "of", "on",
+            "or", "the", "to", "was", "with");
+
+    private TextSimilarity() {
+    }
+
+    /**
+     * Normalizes text for comparison: lowercase, letters and digits only, single spaces
+     * 
+     * @param text the text to normalize
+     * @return the normalized text, empty if text is null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * Splits text into its distinct meaningful words
+     * 
+     * @param text the text to split
+     * @return set of normalized words, without stop words and single characters
+     */
+    public static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        for (String word : normalize(text).split(" ")) {
+            if (word.length() > 1 && !STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Gets the trigrams of each word of the text, padded like PostgreSQL's pg_trgm
+     * 
+     * @param text the text to split
+     * @return set of trigrams
+     */
+    public static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : normalize(text).split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Computes the Jaccard similarity of two sets
+     * 
+     * @param first the first set
+     * @param second the second set
+     * @return |first ∩ second| / |first ∪ second|, 0 if both are empty
+     */
+    public static double jaccard(Set<String> first, Set<String> second) {
+        if (first.isEmpty() || second.isEmpty()) {
+            return 0;
+        }
+
+        int common = 0;
+        for (String value : first) {
+            if (second.contains(value)) {
+                common++;
+            }
+        }
+        return (double) common / (first.size() + second.size() - common);
+    }
+
+    /**
+     * Computes the edit distance of two words, counting an adjacent transposition as one edit
+     * (optimal string alignment distance)
+     * 
+     * @param first the first word
+     * @param second the second word
+     * @param max the largest distance of interest
+     * @return the distance, or max + 1 if it is greater than max
+     */
+    public static int editDistance(String first, String second, int max) {
+        if (Math.abs(first.length() - second.length()) > max) {
+            return max + 1;
+        }
+
+        int[] previous2 = new int[second.length() + 1];
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && first.charAt(i - 1) == second.charAt(j - 2)
+                        && first.charAt(i - 2) == second.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previous2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        return Math.min(previous[second.length()], max + 1);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import payloads.response.UserResponse;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -26,6 +27,7 @@ public class UserDetailsImpl implements UserDetails {
     private boolean isAdmin;
     private boolean isBanned;
     private Collection<? extends GrantedAuthority> authorities;
+    private UserResponse user; // profile loaded with the credentials; null when built from token claims
 
     /**
      * Builds UserDetailsImpl from User entity
@@ -48,7 +50,33 @@ public class UserDetailsImpl implements UserDetails {
                 user.getPassword(),
                 user.isAdmin(),
                 user.isBanned(),
-                authorities);
+                authorities,
+                UserResponse.of(user));
+    }
+
+    /**
+     * Builds UserDetailsImpl from verified token claims, without loading the user
+     * 
+     * @param claims the verified token claims
+     * @return UserDetailsImpl instance (without password)
+     */
+    public static UserDetailsImpl build(JwtClaims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        
+        if (claims.isAdmin()) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        
+        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+
+        return new UserDetailsImpl(
+                claims.getUserId(),
+                claims.getEmail(),
+                null,
+                claims.isAdmin(),
+                false,
+                authorities,
+                null);
     }
 
     @Override